@@ -0,0 +1,91 @@
+#!/bin/sh
+# Boots the native binary and the JVM jar against an in-memory H2 database,
+# waits until the readiness probe reports UP and prints time-to-ready and RSS.
+# Readiness drops its rabbit member here, as there is no broker; liveness
+# would turn UP before the database is even checked.
+# The JVM side runs exactly as the Dockerfile ships it: extracted jar, an
+# AppCDS archive trained once up front (not timed) and AOT bean definitions.
+#
+# Needs a POSIX sh, wget and python3 (for millisecond timestamps); works with
+# GNU, BSD/macOS and BusyBox userlands.
+#
+# Usage: scripts/startup-smoke-test.sh <native-binary> <boot-jar>
+# Normally invoked through ./gradlew nativeSmokeTest.
+set -eu
+
+NATIVE_BINARY="$1"
+BOOT_JAR="$2"
+PORT="${SMOKE_TEST_PORT:-18080}"
+TIMEOUT_SECONDS="${SMOKE_TEST_TIMEOUT:-120}"
+
+H2_ARGS="--server.port=${PORT} \
+  --management.server.port=${PORT} \
+  --management.health.rabbit.enabled=false \
+  --management.endpoint.health.group.readiness.include=readinessState,db,diskSpace \
+  --spring.datasource.url=jdbc:h2:mem:smoke;MODE=PostgreSQL \
+  --spring.datasource.driver-class-name=org.h2.Driver \
+  --spring.datasource.username=sa \
+  --spring.datasource.password= \
+  --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+  --app.warmup.enabled=false"
+
+# Same flags as the Dockerfile's CDS training run and ENTRYPOINT.
+JVM_DIR="build/smoke-jvm"
+JVM_FLAGS="-XX:+UseContainerSupport -XX:MaxRAMPercentage=75.0 -Dspring.aot.enabled=true \
+  -Djava.security.egd=file:/dev/./urandom"
+
+now_ms() {
+  python3 -c 'import time; print(int(time.time() * 1000))'
+}
+
+now_s() {
+  python3 -c 'import time; print(int(time.time()))'
+}
+
+rss_kb() {
+  if [ -r "/proc/$1/status" ]; then
+    awk '/VmRSS/ { print $2 }' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+# boot <label> <command...>
+boot() {
+  label="$1"
+  shift
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  "$@" ${H2_ARGS} >"build/${label}-smoke.log" 2>&1 &
+  pid=$!
+  deadline=$(( $(now_s) + TIMEOUT_SECONDS ))
+  until wget -qO- "http://localhost:${PORT}/actuator/health/readiness" 2>/dev/null | grep -q '"status":"UP"'; do
+    if ! kill -0 "$pid" 2>/dev/null || [ "$(now_s)" -ge "$deadline" ]; then
+      echo "${label}: did not become ready, see build/${label}-smoke.log" >&2
+      kill "$pid" 2>/dev/null || true
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready=$(( $(now_ms) - start ))
+  rss=$(rss_kb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  printf '%-6s time-to-ready=%6d ms  rss=%7d KB\n' "$label" "$ready" "$rss"
+}
+
+# Extracts the jar and dumps the AppCDS archive like the Dockerfile does.
+# Extraction keeps the jar's file name; the Dockerfile's is app.jar.
+prepare_jvm() {
+  rm -rf "$JVM_DIR"
+  java -Djarmode=tools -jar "$BOOT_JAR" extract --destination "$JVM_DIR" >/dev/null
+  mv "$JVM_DIR/$(basename "$BOOT_JAR")" "$JVM_DIR/app.jar"
+  # shellcheck disable=SC2086
+  java -XX:ArchiveClassesAtExit="$JVM_DIR/app.jsa" ${JVM_FLAGS} -Dspring.context.exit=onRefresh \
+    -jar "$JVM_DIR/app.jar" ${H2_ARGS} >build/jvm-cds-training.log 2>&1
+}
+
+boot native "$NATIVE_BINARY"
+prepare_jvm
+# shellcheck disable=SC2086
+boot jvm java ${JVM_FLAGS} -XX:SharedArchiveFile="$JVM_DIR/app.jsa" -jar "$JVM_DIR/app.jar"
@@ -0,0 +1,67 @@
+package com.sadok.sportivo.common.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Availability filter at production scale: ten million usernames and
+ * emails at 1% target fpp (about 12 MB of bits, 7 hashes). {@code present}
+ * is a taken value (all probes hit), {@code absent} a free one (stops at the
+ * first clear bit); the setup prints the measured false-positive rate.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=BloomFilterBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class BloomFilterBenchmark {
+
+  private static final int PROBES = 1_000_000;
+
+  @Param({ "10000000" })
+  int entries;
+
+  private BloomFilter filter;
+
+  @Setup
+  public void setUp() {
+    filter = new BloomFilter(entries, 0.01);
+    for (int i = 0; i < entries; i++) {
+      filter.put(key(i));
+    }
+    long falsePositives = 0;
+    for (int i = 0; i < PROBES; i++) {
+      if (filter.mightContain(key(entries + i))) {
+        falsePositives++;
+      }
+    }
+    System.out.printf("%nentries=%d bits=%d hashes=%d memory=%.1fMB measuredFpp=%.4f expectedFpp=%.4f%n",
+        entries, filter.bitCount(), filter.hashCount(), filter.memoryBytes() / 1_048_576.0,
+        (double) falsePositives / PROBES, filter.expectedFpp());
+  }
+
+  @Benchmark
+  public boolean present() {
+    return filter.mightContain(key(ThreadLocalRandom.current().nextInt(entries)));
+  }
+
+  @Benchmark
+  public boolean absent() {
+    return filter.mightContain(key(entries + ThreadLocalRandom.current().nextInt(entries)));
+  }
+
+  private static String key(int i) {
+    return "e:athlete" + i + "@sportivo.test";
+  }
+}
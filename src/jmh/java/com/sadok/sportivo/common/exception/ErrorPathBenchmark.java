@@ -0,0 +1,89 @@
+package com.sadok.sportivo.common.exception;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import com.sadok.sportivo.common.MessageService;
+import com.sadok.sportivo.common.config.I18nConfig;
+import com.sadok.sportivo.common.i18n.CatalogMessageSource;
+import com.sadok.sportivo.common.i18n.MessageCatalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of one 404 from {@code throw} to a built {@link ProblemDetail}.
+ *
+ * <p>
+ * {@code before} reproduces the previous path: stack trace captured and the
+ * type URI concatenated and parsed per error. {@code after} is the current
+ * path: stackless exception, prebuilt {@link ProblemType} URI and metrics.
+ * The exception is thrown from {@code stackDepth} frames down to approximate
+ * a real Spring MVC call stack.
+ * </p>
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=ErrorPathBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+
+  @Param({ "40", "120" })
+  int stackDepth;
+
+  private GlobalExceptionHandler handler;
+  private MessageService messages;
+  private String message;
+
+  @Setup
+  public void setUp() {
+    messages = new MessageService(new CatalogMessageSource(
+        MessageCatalog.load("messages", I18nConfig.SUPPORTED_LOCALES, Locale.ENGLISH)));
+    handler = new GlobalExceptionHandler(messages, new SimpleMeterRegistry());
+    message = messages.get("error.user.notFound", UUID.randomUUID());
+  }
+
+  @Benchmark
+  public ProblemDetail before() {
+    DomainException.setCaptureStackTrace(true);
+    try {
+      throwAt(stackDepth);
+      throw new AssertionError();
+    } catch (ResourceNotFoundException ex) {
+      ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+      pd.setType(URI.create("https://sportivo.local/errors/" + "not-found"));
+      return pd;
+    }
+  }
+
+  @Benchmark
+  public ProblemDetail after() {
+    DomainException.setCaptureStackTrace(false);
+    try {
+      throwAt(stackDepth);
+      throw new AssertionError();
+    } catch (ResourceNotFoundException ex) {
+      return handler.handleNotFound(ex);
+    }
+  }
+
+  private void throwAt(int depth) {
+    if (depth == 0) {
+      throw new ResourceNotFoundException(message);
+    }
+    throwAt(depth - 1);
+  }
+}
@@ -0,0 +1,94 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.aop.framework.ProxyFactory;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Cost of the JFR instrumentation on a service call. {@code direct} calls a
+ * target doing {@code work} tokens of CPU (about 40 µs at 20000, a fast
+ * cached read), {@code instrumented} calls it through the same
+ * {@link JfrMethodInterceptor} proxy the application uses. {@code recording}
+ * toggles a running recording with the {@code default} settings: without one
+ * the event is disabled and only the proxy hop remains; with one every call
+ * writes an event. The overhead is the relative difference between the two
+ * benchmarks and should stay below a few percent.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=JfrOverheadBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class JfrOverheadBenchmark {
+
+  @Param({ "false", "true" })
+  boolean recording;
+
+  @Param({ "20000" })
+  int work;
+
+  private Service direct;
+  private Service instrumented;
+  private Recording jfr;
+  private UUID userId;
+
+  public static class Service {
+
+    int work;
+
+    public long getUserById(UUID id) {
+      Blackhole.consumeCPU(work);
+      return id.getLeastSignificantBits();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    direct = new Service();
+    direct.work = work;
+    ProxyFactory factory = new ProxyFactory(direct);
+    factory.setProxyTargetClass(true);
+    factory.addAdvice(new JfrMethodInterceptor(UserOperationEvent::new));
+    instrumented = (Service) factory.getProxy();
+    userId = UUID.randomUUID();
+    if (recording) {
+      jfr = new Recording(Configuration.getConfiguration("default"));
+      jfr.enable(UserOperationEvent.class);
+      jfr.start();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (jfr != null) {
+      jfr.close();
+    }
+  }
+
+  @Benchmark
+  public long direct() {
+    return direct.getUserById(userId);
+  }
+
+  @Benchmark
+  public long instrumented() {
+    return instrumented.getUserById(userId);
+  }
+}
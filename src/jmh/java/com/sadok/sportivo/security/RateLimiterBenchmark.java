@@ -0,0 +1,64 @@
+package com.sadok.sportivo.security;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.sadok.sportivo.security.RateLimitProperties.Budget;
+import com.sadok.sportivo.security.RateLimiter.Kind;
+
+/**
+ * Overhead the rate limit filter adds to an unthrottled request: one map
+ * lookup and one CAS. Budgets are effectively unlimited so every call takes
+ * the granted path. {@code shared} has all threads hammer one principal (CAS
+ * contention, worst case); {@code perThread} gives each thread its own.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=RateLimiterBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+  @Param({ "10000" })
+  int principals;
+
+  private RateLimiter limiter;
+  private String sharedKey;
+
+  @State(Scope.Thread)
+  public static class ThreadKey {
+    String key = UUID.randomUUID().toString();
+  }
+
+  @Setup
+  public void setUp() {
+    Budget unlimited = new Budget(1_000_000, Duration.ofMillis(1));
+    limiter = new RateLimiter(new RateLimitProperties(true, unlimited, unlimited, Duration.ofHours(1)));
+    for (int i = 0; i < principals; i++) {
+      limiter.tryAcquire(UUID.randomUUID().toString(), Kind.READ);
+    }
+    sharedKey = UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public long shared() {
+    return limiter.tryAcquire(sharedKey, Kind.READ);
+  }
+
+  @Benchmark
+  public long perThread(ThreadKey thread) {
+    return limiter.tryAcquire(thread.key, Kind.READ);
+  }
+}
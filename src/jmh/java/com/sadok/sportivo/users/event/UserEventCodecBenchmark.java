@@ -0,0 +1,77 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.sadok.sportivo.users.UserRole;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encode/decode throughput of user events, binary codec vs JSON. Payload
+ * sizes are printed once per trial.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=UserEventCodecBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserEventCodecBenchmark {
+
+  @Param({ "created", "updated", "deleted" })
+  String type;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  private UserEvent event;
+  private byte[] binary;
+  private byte[] json;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    UUID actor = UUID.randomUUID();
+    Instant now = Instant.now();
+    event = switch (type) {
+      case "created" -> new UserCreatedEvent(UUID.randomUUID(), "jdoe", "john.doe@example.com", "John", "Doe",
+          UserRole.USER, actor, now);
+      case "updated" -> new UserUpdatedEvent(UUID.randomUUID(), EnumSet.of(UserField.FIRST_NAME, UserField.LAST_NAME),
+          null, "Johnny", "Doe", actor, now);
+      default -> new UserDeletedEvent(UUID.randomUUID(), actor, now);
+    };
+    binary = UserEventBinaryCodec.encode(event);
+    json = jsonMapper.writeValueAsBytes(event);
+    System.out.printf("%n[%s] payload size: binary=%d bytes, json=%d bytes%n", type, binary.length, json.length);
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() {
+    return UserEventBinaryCodec.encode(event);
+  }
+
+  @Benchmark
+  public byte[] encodeJson() {
+    return jsonMapper.writeValueAsBytes(event);
+  }
+
+  @Benchmark
+  public UserEvent decodeBinary() {
+    return UserEventBinaryCodec.decode(binary);
+  }
+
+  @Benchmark
+  public UserEvent decodeJson() {
+    return jsonMapper.readValue(json, event.getClass());
+  }
+}
@@ -0,0 +1,54 @@
+package com.sadok.sportivo.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and outcome counts for one endpoint. {@link Recorder} lets all
+ * workers record without locking; values are microseconds.
+ */
+final class EndpointStats {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+  private final LongAdder errors = new LongAdder();
+
+  void record(long latencyNanos, boolean success) {
+    recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  /** Discards everything recorded so far (end of warmup). */
+  void reset() {
+    recorder.reset();
+    errors.reset();
+  }
+
+  Map<String, Object> report(Operation operation, double elapsedSeconds) {
+    Histogram histogram = recorder.getIntervalHistogram();
+    long count = histogram.getTotalCount();
+    Map<String, Object> latency = new LinkedHashMap<>();
+    latency.put("mean", Math.round(histogram.getMean()));
+    latency.put("p50", histogram.getValueAtPercentile(50));
+    latency.put("p90", histogram.getValueAtPercentile(90));
+    latency.put("p99", histogram.getValueAtPercentile(99));
+    latency.put("p999", histogram.getValueAtPercentile(99.9));
+    latency.put("max", histogram.getMaxValue());
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("endpoint", operation.endpoint());
+    report.put("requests", count);
+    report.put("errors", errors.sum());
+    report.put("throughputPerSecond", count / elapsedSeconds);
+    report.put("latencyMicros", latency);
+    return report;
+  }
+}
@@ -0,0 +1,226 @@
+package com.sadok.sportivo.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Minimal in-process Keycloak: token endpoint, JWKS and the admin REST calls
+ * made by {@code KeycloakAdminService}. Users live in a map; every admin call
+ * can be delayed to model a remote Keycloak.
+ *
+ * <p>
+ * Tokens are real RS256 JWTs signed with a key generated at startup, so the
+ * application validates them through its normal resource server path
+ * against {@link #jwksUri()}.
+ * </p>
+ */
+final class KeycloakStandIn implements AutoCloseable {
+
+  static final String REALM = "sportivo";
+
+  private static final String KEY_ID = "loadtest";
+  private static final Pattern USER_PATH = Pattern
+      .compile("/admin/realms/[^/]+/users/([0-9a-f-]{36})(/reset-password|/role-mappings/realm)?");
+  private static final Pattern ROLE_PATH = Pattern.compile("/admin/realms/[^/]+/roles/([^/]+)");
+
+  private final JsonMapper json = JsonMapper.builder().build();
+  private final Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+  private final Map<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+  private final KeyPair keyPair;
+  private final Duration adminLatency;
+  private final HttpServer server;
+
+  KeycloakStandIn(Duration adminLatency) throws IOException, GeneralSecurityException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    this.keyPair = generator.generateKeyPair();
+    this.adminLatency = adminLatency;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  String jwksUri() {
+    return baseUrl() + "/realms/" + REALM + "/protocol/openid-connect/certs";
+  }
+
+  /** A signed access token for {@code subject} carrying the given realm role. */
+  String token(UUID subject, String username, String role) {
+    long now = Instant.now().getEpochSecond();
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put("iss", baseUrl() + "/realms/" + REALM);
+    claims.put("sub", subject.toString());
+    claims.put("azp", "sportivo-client-api");
+    claims.put("typ", "Bearer");
+    claims.put("preferred_username", username);
+    claims.put("realm_access", Map.of("roles", List.of(role)));
+    claims.put("iat", now);
+    claims.put("exp", now + Duration.ofDays(1).toSeconds());
+    return sign(claims);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath();
+      if (path.endsWith("/protocol/openid-connect/certs")) {
+        respond(exchange, 200, jwks());
+      } else if (path.endsWith("/protocol/openid-connect/token")) {
+        exchange.getRequestBody().readAllBytes();
+        respond(exchange, 200, Map.of(
+            "access_token", token(UUID.randomUUID(), "service-account", "admin"),
+            "token_type", "Bearer",
+            "expires_in", 3600,
+            "refresh_expires_in", 0));
+      } else if (path.startsWith("/admin/")) {
+        simulateLatency();
+        admin(exchange, method, path);
+      } else {
+        respond(exchange, 404, null);
+      }
+    }
+  }
+
+  private void admin(HttpExchange exchange, String method, String path) throws IOException {
+    if ("POST".equals(method) && path.equals("/admin/realms/" + REALM + "/users")) {
+      Map<String, Object> user = readMap(exchange.getRequestBody());
+      String id = UUID.randomUUID().toString();
+      user.put("id", id);
+      user.remove("credentials");
+      users.put(id, user);
+      exchange.getResponseHeaders().add("Location", baseUrl() + path + "/" + id);
+      respond(exchange, 201, null);
+      return;
+    }
+    Matcher role = ROLE_PATH.matcher(path);
+    if ("GET".equals(method) && role.matches()) {
+      respond(exchange, 200, Map.of("id", UUID.nameUUIDFromBytes(role.group(1).getBytes()).toString(),
+          "name", role.group(1)));
+      return;
+    }
+    Matcher userPath = USER_PATH.matcher(path);
+    if (!userPath.matches()) {
+      respond(exchange, 404, null);
+      return;
+    }
+    String id = userPath.group(1);
+    String sub = userPath.group(2);
+    if (sub != null) {
+      exchange.getRequestBody().readAllBytes();
+      respond(exchange, users.containsKey(id) ? 204 : 404, null);
+      return;
+    }
+    switch (method) {
+      case "GET" -> {
+        Map<String, Object> user = users.get(id);
+        respond(exchange, user != null ? 200 : 404, user);
+      }
+      case "PUT" -> {
+        Map<String, Object> update = readMap(exchange.getRequestBody());
+        Map<String, Object> user = users.computeIfPresent(id, (k, existing) -> {
+          Map<String, Object> merged = new LinkedHashMap<>(existing);
+          update.forEach((field, value) -> {
+            if (value != null) {
+              merged.put(field, value);
+            }
+          });
+          return merged;
+        });
+        respond(exchange, user != null ? 204 : 404, null);
+      }
+      case "DELETE" -> respond(exchange, users.remove(id) != null ? 204 : 404, null);
+      default -> respond(exchange, 405, null);
+    }
+  }
+
+  private Map<String, Object> jwks() {
+    RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+    return Map.of("keys", List.of(Map.of(
+        "kty", "RSA",
+        "kid", KEY_ID,
+        "use", "sig",
+        "alg", "RS256",
+        "n", base64.encodeToString(unsigned(publicKey.getModulus())),
+        "e", base64.encodeToString(unsigned(publicKey.getPublicExponent())))));
+  }
+
+  private String sign(Map<String, Object> claims) {
+    String header = base64.encodeToString(json.writeValueAsBytes(Map.of("alg", "RS256", "typ", "JWT", "kid", KEY_ID)));
+    String payload = base64.encodeToString(json.writeValueAsBytes(claims));
+    String signingInput = header + "." + payload;
+    try {
+      Signature signature = Signature.getInstance("SHA256withRSA");
+      signature.initSign(keyPair.getPrivate());
+      signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+      return signingInput + "." + base64.encodeToString(signature.sign());
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Failed to sign token", ex);
+    }
+  }
+
+  private void simulateLatency() {
+    if (!adminLatency.isZero()) {
+      try {
+        Thread.sleep(adminLatency);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> readMap(InputStream body) {
+    return new LinkedHashMap<>(json.readValue(body, Map.class));
+  }
+
+  private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    byte[] bytes = json.writeValueAsBytes(body);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+  }
+
+  private static byte[] unsigned(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+  }
+}
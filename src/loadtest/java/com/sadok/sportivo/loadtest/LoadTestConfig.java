@@ -0,0 +1,72 @@
+package com.sadok.sportivo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties (the
+ * Gradle task forwards {@code -PloadTest.*} project properties).
+ *
+ * @param concurrency     closed-model workers, each with one request in flight
+ * @param duration        measured phase
+ * @param warmup          unmeasured phase before it
+ * @param users           users seeded before the run
+ * @param mix             relative weight per operation
+ * @param keycloakLatency delay the stand-in adds to every admin API call
+ * @param label           report name, e.g. a commit hash
+ * @param output          report file
+ */
+record LoadTestConfig(
+    int concurrency,
+    Duration duration,
+    Duration warmup,
+    int users,
+    Map<Operation, Integer> mix,
+    Duration keycloakLatency,
+    String label,
+    Path output) {
+
+  static final String DEFAULT_MIX = "get=35,me=20,list=5,history=5,update=10,updateMe=10,credentials=5,create=5,delete=5";
+
+  static LoadTestConfig fromSystemProperties() {
+    String label = System.getProperty("loadTest.label",
+        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    return new LoadTestConfig(
+        Integer.getInteger("loadTest.concurrency", 32),
+        duration("loadTest.duration", "60s"),
+        duration("loadTest.warmup", "15s"),
+        Integer.getInteger("loadTest.users", 200),
+        parseMix(System.getProperty("loadTest.mix", DEFAULT_MIX)),
+        duration("loadTest.keycloakLatency", "0ms"),
+        label,
+        Path.of(System.getProperty("loadTest.outputDir", "build/reports/loadtest"), label + ".json"));
+  }
+
+  static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split("=");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected <operation>=<weight>");
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight > 0) {
+        weights.put(Operation.fromKey(parts[0].trim()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("Mix '" + mix + "' selects no operation");
+    }
+    return weights;
+  }
+
+  private static Duration duration(String property, String defaultValue) {
+    return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+  }
+}
@@ -0,0 +1,31 @@
+package com.sadok.sportivo.loadtest;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+
+/**
+ * Beans replaced for the offline run. There is no broker, so user events are
+ * dropped at the producer instead of failing (and logging) on every call.
+ */
+@Configuration(proxyBeanMethods = false)
+class LoadTestOverrides {
+
+  @Bean
+  @Primary
+  RabbitMqProducer discardingRabbitMqProducer() {
+    return new RabbitMqProducer(new RabbitTemplate()) {
+
+      @Override
+      public void sendMessage(String email) {
+      }
+
+      @Override
+      public void publish(String routingKey, Object payload) {
+      }
+    };
+  }
+}
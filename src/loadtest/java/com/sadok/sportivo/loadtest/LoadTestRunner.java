@@ -0,0 +1,241 @@
+package com.sadok.sportivo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sadok.sportivo.SportivoApplication;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Offline load test for the user API.
+ *
+ * <p>
+ * Starts a {@link KeycloakStandIn}, boots the application against H2 with
+ * the {@code loadtest} profile, seeds users, then runs {@code concurrency}
+ * closed-loop workers picking operations by weight from the configured mix.
+ * After an unmeasured warmup, latency (HdrHistogram) and throughput are
+ * recorded per endpoint and written as JSON so runs can be diffed across
+ * builds.
+ * </p>
+ *
+ * <p>
+ * Closed-loop workers slow down with the server, so percentiles understate
+ * queueing under overload (coordinated omission); compare runs at the same
+ * concurrency rather than reading them as absolute SLO numbers.
+ * </p>
+ *
+ * <pre>./gradlew loadTest -PloadTest.concurrency=64 -PloadTest.duration=2m -PloadTest.label=$(git rev-parse --short HEAD)</pre>
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+  private final LoadTestConfig config;
+  private final KeycloakStandIn keycloak;
+  private final String baseUrl;
+  private final HttpClient http;
+  private final JsonMapper json = JsonMapper.builder().build();
+  private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+  private final Operation[] weighted;
+
+  private final String adminToken;
+  private final List<Principal> seeded = new ArrayList<>();
+  private final Queue<UUID> disposable = new ConcurrentLinkedQueue<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  private volatile boolean running = true;
+
+  private record Principal(UUID id, String token) {
+  }
+
+  private LoadTestRunner(LoadTestConfig config, KeycloakStandIn keycloak, int port) {
+    this.config = config;
+    this.keycloak = keycloak;
+    this.baseUrl = "http://127.0.0.1:" + port + "/api/v1/users";
+    this.http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    this.adminToken = keycloak.token(UUID.randomUUID(), "loadtest-admin", "admin");
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new EndpointStats());
+    }
+    List<Operation> slots = new ArrayList<>();
+    config.mix().forEach((operation, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        slots.add(operation);
+      }
+    });
+    this.weighted = slots.toArray(Operation[]::new);
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    try (KeycloakStandIn keycloak = new KeycloakStandIn(config.keycloakLatency());
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(SportivoApplication.class,
+            LoadTestOverrides.class).run(
+                "--spring.profiles.active=loadtest",
+                "--app.keycloak.server-url=" + keycloak.baseUrl(),
+                "--app.keycloak.realm=" + KeycloakStandIn.REALM,
+                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + keycloak.jwksUri())) {
+      int port = Integer.parseInt(app.getEnvironment().getRequiredProperty("local.server.port"));
+      new LoadTestRunner(config, keycloak, port).run();
+    }
+  }
+
+  private void run() throws Exception {
+    log.info("Seeding {} users", config.users());
+    for (int i = 0; i < config.users(); i++) {
+      UUID id = createUser();
+      seeded.add(new Principal(id, keycloak.token(id, "seed-" + i, "user")));
+    }
+
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < config.concurrency(); i++) {
+        workers.execute(this::work);
+      }
+      log.info("Warming up for {}", config.warmup());
+      Thread.sleep(config.warmup());
+      stats.values().forEach(EndpointStats::reset);
+
+      log.info("Measuring {} at concurrency {}", config.duration(), config.concurrency());
+      long start = System.nanoTime();
+      Thread.sleep(config.duration());
+      double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+      Map<String, Object> report = report(elapsedSeconds);
+      running = false;
+      write(report);
+    }
+  }
+
+  private void work() {
+    while (running) {
+      Operation operation = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+      if (operation == Operation.DELETE && disposable.isEmpty()) {
+        operation = Operation.CREATE;
+      }
+      long start = System.nanoTime();
+      boolean success;
+      try {
+        success = execute(operation);
+      } catch (Exception ex) {
+        success = false;
+      }
+      stats.get(operation).record(System.nanoTime() - start, success);
+    }
+  }
+
+  private boolean execute(Operation operation) throws Exception {
+    Principal user = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    return switch (operation) {
+      case LIST -> send(get(baseUrl, adminToken));
+      case GET -> send(get(baseUrl + "/" + user.id(), adminToken));
+      case HISTORY -> send(get(baseUrl + "/" + user.id() + "/history?size=20", adminToken));
+      case ME -> send(get(baseUrl + "/me", user.token()));
+      case UPDATE -> send(request(baseUrl + "/" + user.id(), adminToken, "PUT", profileUpdate()));
+      case UPDATE_ME -> send(request(baseUrl + "/me", user.token(), "PUT", profileUpdate()));
+      case CREDENTIALS -> send(request(baseUrl + "/" + user.id() + "/credentials", adminToken, "PATCH",
+          Map.of("newPassword", "Load-test-" + sequence.incrementAndGet())));
+      case CREATE -> {
+        disposable.add(createUser());
+        yield true;
+      }
+      case DELETE -> {
+        UUID id = disposable.poll();
+        yield id == null || send(request(baseUrl + "/" + id, adminToken, "DELETE", null));
+      }
+    };
+  }
+
+  private UUID createUser() throws Exception {
+    long n = sequence.incrementAndGet();
+    HttpResponse<byte[]> response = http.send(request(baseUrl, adminToken, "POST", Map.of(
+        "username", "lt-user-" + n,
+        "email", "lt-user-" + n + "@loadtest.local",
+        "firstName", "Load",
+        "lastName", "Test" + n,
+        "role", "USER")), BodyHandlers.ofByteArray());
+    if (response.statusCode() != 201) {
+      throw new IllegalStateException("Create failed with " + response.statusCode());
+    }
+    return UUID.fromString((String) json.readValue(response.body(), Map.class).get("id"));
+  }
+
+  private Map<String, Object> profileUpdate() {
+    return Map.of("lastName", "Updated" + sequence.incrementAndGet());
+  }
+
+  private boolean send(HttpRequest request) throws Exception {
+    int status = http.send(request, BodyHandlers.discarding()).statusCode();
+    return status >= 200 && status < 300;
+  }
+
+  private HttpRequest get(String url, String token) {
+    return request(url, token, "GET", null);
+  }
+
+  private HttpRequest request(String url, String token, String method, Object body) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+        .header("Authorization", "Bearer " + token)
+        .header("Accept", "application/json");
+    if (body == null) {
+      return builder.method(method, BodyPublishers.noBody()).build();
+    }
+    return builder.header("Content-Type", "application/json")
+        .method(method, BodyPublishers.ofByteArray(json.writeValueAsBytes(body)))
+        .build();
+  }
+
+  private Map<String, Object> report(double elapsedSeconds) {
+    Map<String, Object> endpoints = new LinkedHashMap<>();
+    stats.forEach((operation, endpointStats) -> {
+      if (config.mix().containsKey(operation) || operation == Operation.CREATE) {
+        endpoints.put(operation.key(), endpointStats.report(operation, elapsedSeconds));
+      }
+    });
+    Map<String, Object> settings = new LinkedHashMap<>();
+    settings.put("concurrency", config.concurrency());
+    settings.put("durationSeconds", config.duration().toSeconds());
+    settings.put("warmupSeconds", config.warmup().toSeconds());
+    settings.put("seededUsers", config.users());
+    settings.put("keycloakLatencyMillis", config.keycloakLatency().toMillis());
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    config.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+    settings.put("mix", mix);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("label", config.label());
+    report.put("javaVersion", Runtime.version().toString());
+    report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+    report.put("config", settings);
+    report.put("endpoints", endpoints);
+    return report;
+  }
+
+  private void write(Map<String, Object> report) throws Exception {
+    Files.createDirectories(config.output().getParent());
+    Files.write(config.output(), json.writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+    log.info("Report written to {}", config.output().toAbsolutePath());
+  }
+}
@@ -0,0 +1,42 @@
+package com.sadok.sportivo.loadtest;
+
+/**
+ * The {@code UserController} endpoints the load test drives. {@code key} is
+ * the name used in {@code -PloadTest.mix} and in the JSON report.
+ */
+enum Operation {
+  LIST("list", "GET /api/v1/users"),
+  GET("get", "GET /api/v1/users/{id}"),
+  HISTORY("history", "GET /api/v1/users/{id}/history"),
+  ME("me", "GET /api/v1/users/me"),
+  UPDATE("update", "PUT /api/v1/users/{id}"),
+  UPDATE_ME("updateMe", "PUT /api/v1/users/me"),
+  CREDENTIALS("credentials", "PATCH /api/v1/users/{id}/credentials"),
+  CREATE("create", "POST /api/v1/users"),
+  DELETE("delete", "DELETE /api/v1/users/{id}");
+
+  private final String key;
+  private final String endpoint;
+
+  Operation(String key, String endpoint) {
+    this.key = key;
+    this.endpoint = endpoint;
+  }
+
+  String key() {
+    return key;
+  }
+
+  String endpoint() {
+    return endpoint;
+  }
+
+  static Operation fromKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equalsIgnoreCase(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation '" + key + "'");
+  }
+}
@@ -2,10 +2,17 @@ package com.sadok.sportivo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class SportivoApplication {
+
+    /** Startup steps kept for the actuator {@code startup} endpoint. */
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(SportivoApplication.class, args);
+        SpringApplication application = new SpringApplication(SportivoApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 }
@@ -6,16 +6,29 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
+import com.sadok.sportivo.common.i18n.CatalogMessageSource;
+import com.sadok.sportivo.common.i18n.MessageCatalog;
 
 @Component
-@RequiredArgsConstructor
 public class MessageService {
 
   private final MessageSource messageSource;
+  /** Precompiled catalog; {@code null} in hot-reload mode. */
+  private final MessageCatalog catalog;
+
+  public MessageService(MessageSource messageSource) {
+    this.messageSource = messageSource;
+    this.catalog = messageSource instanceof CatalogMessageSource source ? source.getCatalog() : null;
+  }
 
   public String get(String key, Object... args) {
     Locale locale = LocaleContextHolder.getLocale();
+    if (catalog != null) {
+      String message = catalog.format(key, locale, args);
+      if (message != null) {
+        return message;
+      }
+    }
     return messageSource.getMessage(key, args, locale);
   }
 }
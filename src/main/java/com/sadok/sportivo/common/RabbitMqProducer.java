@@ -1,12 +1,14 @@
 package com.sadok.sportivo.common;
 
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import com.sadok.sportivo.common.config.RabbitMQConfig;
 
 import lombok.RequiredArgsConstructor;
 
+@Lazy
 @Service
 @RequiredArgsConstructor
 public class RabbitMqProducer {
@@ -15,4 +17,12 @@ public class RabbitMqProducer {
   public void sendMessage(String email) {
     rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROUTING_KEY, email);
   }
+
+  /**
+   * Publishes a payload to the main exchange. Domain events are encoded by
+   * {@code UserEventMessageConverter}, which also sets the content type.
+   */
+  public void publish(String routingKey, Object payload) {
+    rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, routingKey, payload);
+  }
 }
@@ -0,0 +1,115 @@
+package com.sadok.sportivo.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings: {@link #mightContain} never returns
+ * {@code false} for a value that was {@link #put}, and returns {@code true}
+ * for an absent value with roughly the configured false-positive
+ * probability. Values cannot be removed.
+ *
+ * <p>
+ * Bits live in an {@link AtomicLongArray} and are set with CAS, so readers
+ * and writers never block each other. Bit positions use double hashing
+ * ({@code h1 + i * h2}) over one 64-bit hash of the characters, which keeps
+ * {@code put} and {@code mightContain} allocation free.
+ * </p>
+ */
+public class BloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+  private final AtomicLong bitsSet = new AtomicLong();
+
+  /**
+   * @param expectedInsertions values the filter is sized for; more are
+   *                           accepted at a rising false-positive rate
+   * @param fpp                target false-positive probability at
+   *                           {@code expectedInsertions}
+   */
+  public BloomFilter(long expectedInsertions, double fpp) {
+    if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException(
+          "Invalid Bloom filter sizing [expectedInsertions=%d, fpp=%s]".formatted(expectedInsertions, fpp));
+    }
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+    int words = Math.toIntExact((bits + 63) >>> 6);
+    this.words = new AtomicLongArray(words);
+    this.bitCount = (long) words << 6;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+  }
+
+  /** @return {@code true} if any bit changed, i.e. the value was definitely new */
+  public boolean put(CharSequence value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    boolean changed = false;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      int index = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long word = words.get(index);
+      while ((word & mask) == 0) {
+        long witness = words.compareAndExchange(index, word, word | mask);
+        if (witness == word) {
+          bitsSet.incrementAndGet();
+          changed = true;
+          break;
+        }
+        word = witness;
+      }
+    }
+    return changed;
+  }
+
+  public boolean mightContain(CharSequence value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** False-positive probability at the current fill: {@code (bitsSet / bitCount)^k}. */
+  public double expectedFpp() {
+    return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+  }
+
+  public long bitCount() {
+    return bitCount;
+  }
+
+  public int hashCount() {
+    return hashCount;
+  }
+
+  /** Size of the bit array; object headers are negligible next to it. */
+  public long memoryBytes() {
+    return bitCount >>> 3;
+  }
+
+  private static long hash(CharSequence value) {
+    long h = 0xCBF29CE484222325L ^ value.length();
+    for (int i = 0; i < value.length(); i++) {
+      h = (h ^ value.charAt(i)) * 0x100000001B3L;
+    }
+    return mix(h);
+  }
+
+  /** MurmurHash3 64-bit finaliser: spreads FNV's weak high bits. */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    return h ^ (h >>> 33);
+  }
+}
@@ -0,0 +1,75 @@
+package com.sadok.sportivo.common.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the
+ * loader, callers arriving while it is in flight wait for and share its
+ * result (or exception). Nothing is cached; once the load completes the next
+ * caller triggers a new one.
+ *
+ * <p>
+ * Every caller receives the <em>same</em> instance, so values must be
+ * immutable or copied by the caller before being modified.
+ * </p>
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.executed = calls(meterRegistry, name, "executed");
+    this.coalesced = calls(meterRegistry, name, "coalesced");
+  }
+
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalesced.increment();
+      return await(existing);
+    }
+    executed.increment();
+    try {
+      V value = loader.get();
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      flight.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private static <V> V await(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private static Counter calls(MeterRegistry registry, String name, String outcome) {
+    return Counter.builder("sportivo.singleflight.calls")
+        .description("Loads run versus calls that joined an in-flight load")
+        .tag("name", name)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,27 @@
+package com.sadok.sportivo.common.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs async controller results ({@code Callable}, long-poll) on virtual
+ * threads: a parked long-poll then costs a few KB of heap instead of a
+ * platform thread, and the Tomcat worker is released while it waits.
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+  /** Upper bound for async requests; long-poll waits are capped well below it. */
+  static final long ASYNC_TIMEOUT_MILLIS = 60_000;
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(new TaskExecutorAdapter(
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mvc-async-", 0).factory())));
+    configurer.setDefaultTimeout(ASYNC_TIMEOUT_MILLIS);
+  }
+}
@@ -0,0 +1,44 @@
+package com.sadok.sportivo.common.config;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * {@link AcceptHeaderLocaleResolver} that remembers which supported locale
+ * each distinct {@code Accept-Language} value resolved to.
+ *
+ * <p>
+ * Clients send a handful of distinct header values, so after warm-up the
+ * header is never parsed again. The cache is bounded: once full, new values
+ * are resolved normally but not stored, so arbitrary headers cannot grow it.
+ * </p>
+ */
+public class CachingAcceptHeaderLocaleResolver extends AcceptHeaderLocaleResolver {
+
+  private static final String ACCEPT_LANGUAGE = "Accept-Language";
+  private static final int MAX_CACHED_HEADERS = 256;
+
+  private final Map<String, Locale> resolved = new ConcurrentHashMap<>();
+
+  @Override
+  public Locale resolveLocale(HttpServletRequest request) {
+    String header = request.getHeader(ACCEPT_LANGUAGE);
+    if (header == null || header.isEmpty()) {
+      return super.resolveLocale(request);
+    }
+    Locale cached = resolved.get(header);
+    if (cached != null) {
+      return cached;
+    }
+    Locale locale = super.resolveLocale(request);
+    if (resolved.size() < MAX_CACHED_HEADERS) {
+      resolved.putIfAbsent(header, locale);
+    }
+    return locale;
+  }
+}
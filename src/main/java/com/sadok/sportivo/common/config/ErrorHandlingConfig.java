@@ -0,0 +1,19 @@
+package com.sadok.sportivo.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import com.sadok.sportivo.common.exception.DomainException;
+
+/**
+ * Applies {@code app.errors.capture-stack-trace} to all
+ * {@link DomainException}s. Stack traces stay on in dev for debugging and are
+ * off by default elsewhere, where 404/409 floods make them pure overhead.
+ */
+@Configuration
+public class ErrorHandlingConfig {
+
+  public ErrorHandlingConfig(@Value("${app.errors.capture-stack-trace:true}") boolean captureStackTrace) {
+    DomainException.setCaptureStackTrace(captureStackTrace);
+  }
+}
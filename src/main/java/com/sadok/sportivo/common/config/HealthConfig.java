@@ -0,0 +1,23 @@
+package com.sadok.sportivo.common.config;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.sadok.sportivo.common.health.CachedHealthIndicatorPostProcessor;
+import com.sadok.sportivo.common.health.HealthCacheProperties;
+
+@Configuration
+public class HealthConfig {
+
+  /**
+   * Static and bound straight from the {@link Environment}: bean post
+   * processors are created before configuration properties beans.
+   */
+  @Bean
+  static CachedHealthIndicatorPostProcessor cachedHealthIndicatorPostProcessor(Environment environment) {
+    return new CachedHealthIndicatorPostProcessor(
+        Binder.get(environment).bindOrCreate("app.health.cache", HealthCacheProperties.class));
+  }
+}
@@ -3,6 +3,7 @@ package com.sadok.sportivo.common.config;
 import java.util.List;
 import java.util.Locale;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,18 +12,38 @@ import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import com.sadok.sportivo.common.i18n.CatalogMessageSource;
+import com.sadok.sportivo.common.i18n.MessageCatalog;
 
 @Configuration
 public class I18nConfig implements WebMvcConfigurer {
 
+  public static final List<Locale> SUPPORTED_LOCALES = List.of(Locale.ENGLISH, Locale.FRENCH);
+
+  @Value("${app.i18n.hot-reload:false}")
+  private boolean hotReload;
+
+  /**
+   * Serves messages from a {@link MessageCatalog} compiled once at startup.
+   * With {@code app.i18n.hot-reload=true} (dev profile) the property files are
+   * re-read on change instead, at the cost of slower lookups.
+   */
   @Bean
   public MessageSource messageSource() {
+    if (hotReload) {
+      return reloadableMessageSource();
+    }
+    return new CatalogMessageSource(MessageCatalog.load("messages", SUPPORTED_LOCALES, Locale.ENGLISH));
+  }
+
+  private static MessageSource reloadableMessageSource() {
     ReloadableResourceBundleMessageSource source = new ReloadableResourceBundleMessageSource();
     source.setBasename("classpath:messages");
     source.setDefaultEncoding("UTF-8");
     source.setDefaultLocale(Locale.ENGLISH);
     source.setFallbackToSystemLocale(false);
+    source.setCacheSeconds(1);
     return source;
   }
 
@@ -41,12 +62,12 @@ public class I18nConfig implements WebMvcConfigurer {
   /**
    * Resolves the locale from the {@code Accept-Language} request header.
    * Falls back to {@link Locale#ENGLISH} when the header is absent or
-   * contains an unsupported locale.
+   * contains an unsupported locale. Resolutions are cached per header value.
    */
   @Bean
   public LocaleResolver localeResolver() {
-    AcceptHeaderLocaleResolver resolver = new AcceptHeaderLocaleResolver();
-    resolver.setSupportedLocales(List.of(Locale.ENGLISH, Locale.FRENCH));
+    CachingAcceptHeaderLocaleResolver resolver = new CachingAcceptHeaderLocaleResolver();
+    resolver.setSupportedLocales(SUPPORTED_LOCALES);
     resolver.setDefaultLocale(Locale.ENGLISH);
     return resolver;
   }
@@ -0,0 +1,101 @@
+package com.sadok.sportivo.common.config;
+
+import java.util.List;
+
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleMappingResource;
+import org.keycloak.admin.client.resource.RoleResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
+import org.keycloak.admin.client.resource.RolesResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.admin.client.token.TokenService;
+import org.keycloak.representations.AccessTokenResponse;
+import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.ErrorRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.sadok.sportivo.common.logging.DropAwareAsyncAppender;
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+/**
+ * Reachability metadata for the GraalVM native image that Spring AOT and the
+ * GraalVM metadata repository cannot infer on their own.
+ *
+ * <p>
+ * Hibernate entities, Spring Data repositories, Flyway, Spring AMQP and
+ * Spring beans such as the MapStruct-generated {@code UserMapperImpl} are
+ * handled by Spring AOT. What remains is reflective or resource access done
+ * by libraries behind our back: the Keycloak admin client (RESTEasy proxies
+ * and Jackson-bound representations), JSON-encoded user events, logback
+ * appenders named in XML, and the message bundles read by
+ * {@code MessageCatalog}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.SportivoRuntimeHints.class)
+public class NativeHintsConfig {
+
+  static class SportivoRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** JAX-RS interfaces RESTEasy turns into client proxies. */
+    private static final Class<?>[] KEYCLOAK_RESOURCES = {
+        TokenService.class,
+        RealmResource.class,
+        UsersResource.class,
+        UserResource.class,
+        RolesResource.class,
+        RoleResource.class,
+        RoleMappingResource.class,
+        RoleScopeResource.class
+    };
+
+    /** Payloads (de)serialized by the admin client's Jackson provider. */
+    private static final Class<?>[] KEYCLOAK_REPRESENTATIONS = {
+        AccessTokenResponse.class,
+        UserRepresentation.class,
+        CredentialRepresentation.class,
+        RoleRepresentation.class,
+        ErrorRepresentation.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+      for (Class<?> resource : KEYCLOAK_RESOURCES) {
+        hints.proxies().registerJdkProxy(resource);
+        hints.reflection().registerType(resource, MemberCategory.INVOKE_PUBLIC_METHODS);
+      }
+      for (Class<?> representation : KEYCLOAK_REPRESENTATIONS) {
+        hints.reflection().registerType(representation,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.DECLARED_FIELDS);
+      }
+
+      for (Class<?> event : List.of(UserCreatedEvent.class, UserUpdatedEvent.class, UserDeletedEvent.class)) {
+        hints.reflection().registerType(event,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+      }
+
+      hints.reflection().registerType(DropAwareAsyncAppender.class,
+          MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+      hints.reflection().registerTypeIfPresent(classLoader, "com.github.loki4j.logback.Loki4jAppender",
+          MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+      hints.reflection().registerTypeIfPresent(classLoader, "com.github.loki4j.logback.JsonLayout",
+          MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+      hints.resources().registerPattern("messages_*.properties");
+      hints.resources().registerPattern("db/migration/*.sql");
+      hints.resources().registerPattern("db/vendor/**/*.sql");
+      hints.resources().registerPattern("banner.txt");
+    }
+  }
+}
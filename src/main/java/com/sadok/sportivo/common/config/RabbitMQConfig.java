@@ -2,20 +2,67 @@ package com.sadok.sportivo.common.config;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.sadok.sportivo.common.messaging.UserEventMessageConverter;
+import com.sadok.sportivo.notifications.NotificationConsumerProperties;
+
+import tools.jackson.databind.json.JsonMapper;
+
 @Configuration
+@EnableConfigurationProperties(NotificationConsumerProperties.class)
 public class RabbitMQConfig {
   public static final String EXCHANGE_NAME = "sportivo.exchange";
   public static final String QUEUE_NAME = "sportivo.queue";
   public static final String ROUTING_KEY = "sportivo.notifications.#";
 
+  /** Failed messages wait here ({@code x-message-ttl}) before returning to {@link #QUEUE_NAME}. */
+  public static final String RETRY_EXCHANGE_NAME = "sportivo.retry.exchange";
+  public static final String RETRY_QUEUE_NAME = "sportivo.queue.retry";
+
+  /** Messages that exhausted their retries; inspected and replayed by hand. */
+  public static final String DEAD_LETTER_EXCHANGE_NAME = "sportivo.dlx";
+  public static final String DEAD_LETTER_QUEUE_NAME = "sportivo.queue.dlq";
+
+  public static final String BATCH_CONTAINER_FACTORY = "batchListenerContainerFactory";
+
+  /**
+   * Picked up by Spring Boot for the {@code RabbitTemplate} and all listener
+   * containers. User events are written as {@code app.messaging.user-events.format}
+   * (binary by default) and read in either format.
+   */
+  @Bean
+  public MessageConverter messageConverter(
+      @Value("${app.messaging.user-events.format:BINARY}") UserEventMessageConverter.Format format,
+      JsonMapper jsonMapper) {
+    return new UserEventMessageConverter(format, jsonMapper);
+  }
+
+  /**
+   * Rejected messages are dead-lettered to {@link #DEAD_LETTER_QUEUE_NAME}.
+   * The batch consumer rejects without requeue, so anything thrown out of the
+   * listener (for instance a failed republish to the retry queue) lands in the
+   * DLQ instead of being discarded by the broker. Queue arguments cannot be
+   * changed in place: an existing {@code sportivo.queue} declared without them
+   * must be deleted once before this declaration succeeds.
+   */
   @Bean
   public Queue queue() {
-    return new Queue(QUEUE_NAME, true);
+    return QueueBuilder.durable(QUEUE_NAME)
+        .deadLetterExchange(DEAD_LETTER_EXCHANGE_NAME)
+        .deadLetterRoutingKey(DEAD_LETTER_QUEUE_NAME)
+        .build();
   }
 
   @Bean
@@ -27,4 +74,79 @@ public class RabbitMQConfig {
   public Binding binding(Queue queue, TopicExchange exchange) {
     return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
   }
+
+  // -------------------------------------------------------------------------
+  // Delayed retry and dead-lettering
+  // -------------------------------------------------------------------------
+
+  /**
+   * Expired messages are dead-lettered through the default exchange straight
+   * back to {@link #QUEUE_NAME}, so a retry never fans out to other bindings
+   * of the topic exchange.
+   */
+  @Bean
+  public Queue retryQueue(NotificationConsumerProperties props) {
+    return QueueBuilder.durable(RETRY_QUEUE_NAME)
+        .ttl((int) props.retryDelay().toMillis())
+        .deadLetterExchange("")
+        .deadLetterRoutingKey(QUEUE_NAME)
+        .build();
+  }
+
+  @Bean
+  public DirectExchange retryExchange() {
+    return new DirectExchange(RETRY_EXCHANGE_NAME);
+  }
+
+  @Bean
+  public Binding retryBinding(Queue retryQueue, DirectExchange retryExchange) {
+    return BindingBuilder.bind(retryQueue).to(retryExchange).with(RETRY_QUEUE_NAME);
+  }
+
+  @Bean
+  public Queue deadLetterQueue() {
+    return QueueBuilder.durable(DEAD_LETTER_QUEUE_NAME).build();
+  }
+
+  @Bean
+  public DirectExchange deadLetterExchange() {
+    return new DirectExchange(DEAD_LETTER_EXCHANGE_NAME);
+  }
+
+  @Bean
+  public Binding deadLetterBinding(Queue deadLetterQueue, DirectExchange deadLetterExchange) {
+    return BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(DEAD_LETTER_QUEUE_NAME);
+  }
+
+  // -------------------------------------------------------------------------
+  // Batch consumer
+  // -------------------------------------------------------------------------
+
+  /**
+   * Container factory for batch listeners: the container assembles up to
+   * {@code batchSize} messages (or whatever arrived within
+   * {@code receiveTimeout}) into one listener call. Consumers scale between
+   * {@code concurrency} and {@code maxConcurrency}: a new consumer is started
+   * after {@code consecutiveActiveTrigger} consecutive full receives, i.e.
+   * while the queue stays deep, and idle ones are stopped again.
+   */
+  @Bean(BATCH_CONTAINER_FACTORY)
+  public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+      SimpleRabbitListenerContainerFactoryConfigurer configurer,
+      ConnectionFactory connectionFactory,
+      NotificationConsumerProperties props) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    configurer.configure(factory, connectionFactory);
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(props.batchSize());
+    factory.setReceiveTimeout(props.receiveTimeout().toMillis());
+    factory.setPrefetchCount(props.prefetch());
+    factory.setConcurrentConsumers(props.concurrency());
+    factory.setMaxConcurrentConsumers(props.maxConcurrency());
+    factory.setConsecutiveActiveTrigger(props.consecutiveActiveTrigger());
+    factory.setStartConsumerMinInterval(props.scaleUpInterval().toMillis());
+    factory.setDefaultRequeueRejected(false);
+    return factory;
+  }
 }
@@ -0,0 +1,10 @@
+package com.sadok.sportivo.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables {@code @Scheduled} background jobs (user purge, ...). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
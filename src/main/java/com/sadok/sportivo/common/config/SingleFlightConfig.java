@@ -0,0 +1,24 @@
+package com.sadok.sportivo.common.config;
+
+import java.util.UUID;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.sadok.sportivo.common.concurrent.SingleFlight;
+import com.sadok.sportivo.users.dto.UserResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Request coalescing for hot reads, e.g. a whole team opening the same
+ * profile after a push notification.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+  @Bean
+  public SingleFlight<UUID, UserResponse> userLoads(MeterRegistry meterRegistry) {
+    return new SingleFlight<>("users", meterRegistry);
+  }
+}
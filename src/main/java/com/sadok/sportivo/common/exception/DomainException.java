@@ -0,0 +1,46 @@
+package com.sadok.sportivo.common.exception;
+
+/**
+ * Base class for expected, client-caused failures (404, 409, ...).
+ *
+ * <p>
+ * These are thrown at high rates by scrapers and retries and are fully
+ * described by their message, so capturing a stack trace is optional and
+ * controlled globally by {@code app.errors.capture-stack-trace}. Suppression
+ * is always disabled.
+ * </p>
+ *
+ * <p>
+ * The creation time is recorded before the stack trace is captured, so the
+ * error-path timer in {@code GlobalExceptionHandler} covers capture, unwinding
+ * and handler resolution, not just building the response.
+ * </p>
+ */
+public abstract class DomainException extends RuntimeException {
+
+  private static volatile boolean captureStackTrace = true;
+
+  private final long createdNanos;
+
+  protected DomainException(String message) {
+    this(message, System.nanoTime());
+  }
+
+  private DomainException(String message, long createdNanos) {
+    super(message, null, false, captureStackTrace);
+    this.createdNanos = createdNanos;
+  }
+
+  /** {@link System#nanoTime()} at construction, i.e. just before the throw. */
+  public long getCreatedNanos() {
+    return createdNanos;
+  }
+
+  public static void setCaptureStackTrace(boolean capture) {
+    captureStackTrace = capture;
+  }
+
+  public static boolean isCaptureStackTrace() {
+    return captureStackTrace;
+  }
+}
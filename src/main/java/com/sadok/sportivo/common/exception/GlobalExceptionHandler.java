@@ -1,61 +1,112 @@
 package com.sadok.sportivo.common.exception;
 
-import java.net.URI;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.sadok.sportivo.common.MessageService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.ConstraintViolationException;
-import lombok.RequiredArgsConstructor;
 
 @RestControllerAdvice
-@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
   private final MessageService messages;
+  private final Map<ProblemType, Counter> errorCounters = new EnumMap<>(ProblemType.class);
+  private final Map<ProblemType, Timer> errorTimers = new EnumMap<>(ProblemType.class);
+
+  public GlobalExceptionHandler(MessageService messages, MeterRegistry meterRegistry) {
+    this.messages = messages;
+    for (ProblemType type : ProblemType.values()) {
+      errorCounters.put(type, Counter.builder("sportivo.errors")
+          .description("Problem responses returned, by problem type")
+          .tag("type", type.code())
+          .tag("status", String.valueOf(type.status().value()))
+          .register(meterRegistry));
+      errorTimers.put(type, Timer.builder("sportivo.errors.handling")
+          .description("Time from a domain exception being raised, or from handler entry for other "
+              + "exceptions, to its problem response, by problem type")
+          .tag("type", type.code())
+          .register(meterRegistry));
+    }
+  }
 
   @ExceptionHandler(ResourceNotFoundException.class)
   ProblemDetail handleNotFound(ResourceNotFoundException ex) {
-    return problem(HttpStatus.NOT_FOUND, ex.getMessage(), "not-found");
+    return problem(ProblemType.NOT_FOUND, ex.getMessage(), ex);
   }
 
   @ExceptionHandler(ResourceAlreadyExistsException.class)
   ProblemDetail handleConflict(ResourceAlreadyExistsException ex) {
-    return problem(HttpStatus.CONFLICT, ex.getMessage(), "already-exists");
+    return problem(ProblemType.ALREADY_EXISTS, ex.getMessage(), ex);
   }
 
   @ExceptionHandler(KeycloakException.class)
   ProblemDetail handleKeycloak(KeycloakException ex) {
-    return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), "keycloak-error");
+    return problem(ProblemType.KEYCLOAK_ERROR, ex.getMessage(), System.nanoTime());
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  ResponseEntity<ProblemDetail> handleRateLimited(RateLimitExceededException ex) {
+    long retryAfter = ex.getRetryAfterSeconds();
+    ProblemDetail pd = problem(ProblemType.RATE_LIMITED, messages.get("error.rateLimited", retryAfter), ex);
+    pd.setProperty("retryAfter", retryAfter);
+    return ResponseEntity.status(ProblemType.RATE_LIMITED.status())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+        .body(pd);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
   ProblemDetail handleValidation(MethodArgumentNotValidException ex) {
+    long entered = System.nanoTime();
     Map<String, String> errors = ex.getBindingResult().getFieldErrors().stream()
         .collect(Collectors.toMap(
             f -> f.getField(),
             f -> f.getDefaultMessage() == null ? "invalid" : f.getDefaultMessage(),
             (a, b) -> a));
-    ProblemDetail pd = problem(HttpStatus.BAD_REQUEST, messages.get("error.validation.failed"), "validation-error");
+    ProblemDetail pd = problem(ProblemType.VALIDATION_ERROR, messages.get("error.validation.failed"), entered);
     pd.setProperty("errors", errors);
     return pd;
   }
 
+  @ExceptionHandler(InvalidFieldsException.class)
+  ProblemDetail handleInvalidFields(InvalidFieldsException ex) {
+    ProblemDetail pd = problem(ProblemType.VALIDATION_ERROR,
+        messages.get("error.fields.unknown", String.join(", ", ex.getUnknown())), ex);
+    pd.setProperty("allowedFields", ex.getAllowed());
+    return pd;
+  }
+
   @ExceptionHandler(ConstraintViolationException.class)
   ProblemDetail handleConstraintViolation(ConstraintViolationException ex) {
-    return problem(HttpStatus.BAD_REQUEST, ex.getMessage(), "validation-error");
+    return problem(ProblemType.VALIDATION_ERROR, ex.getMessage(), System.nanoTime());
+  }
+
+  /** Builds the problem response for a domain exception, timed from when it was raised. */
+  private ProblemDetail problem(ProblemType type, String detail, DomainException ex) {
+    return problem(type, detail, ex.getCreatedNanos());
   }
 
-  private ProblemDetail problem(HttpStatus status, String detail, String errorCode) {
-    ProblemDetail pd = ProblemDetail.forStatusAndDetail(status, detail);
-    pd.setType(URI.create("https://sportivo.local/errors/" + errorCode));
+  /**
+   * Builds the problem response and meters it. Framework and Keycloak
+   * exceptions carry no raise timestamp, so they pass the handler entry time.
+   */
+  private ProblemDetail problem(ProblemType type, String detail, long startNanos) {
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(type.status(), detail);
+    pd.setType(type.uri());
+    errorCounters.get(type).increment();
+    errorTimers.get(type).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     return pd;
   }
 }
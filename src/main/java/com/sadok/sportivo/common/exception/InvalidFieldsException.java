@@ -0,0 +1,27 @@
+package com.sadok.sportivo.common.exception;
+
+import java.util.Set;
+
+/**
+ * A {@code fields=} selection named attributes that are not part of the
+ * response model; rendered as a {@code 400} validation problem.
+ */
+public class InvalidFieldsException extends DomainException {
+
+  private final Set<String> unknown;
+  private final Set<String> allowed;
+
+  public InvalidFieldsException(Set<String> unknown, Set<String> allowed) {
+    super("Unknown fields " + unknown + ", allowed " + allowed);
+    this.unknown = unknown;
+    this.allowed = allowed;
+  }
+
+  public Set<String> getUnknown() {
+    return unknown;
+  }
+
+  public Set<String> getAllowed() {
+    return allowed;
+  }
+}
@@ -0,0 +1,41 @@
+package com.sadok.sportivo.common.exception;
+
+import java.net.URI;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The problem types returned by the API, with their {@code type} URI built
+ * once instead of on every error.
+ */
+public enum ProblemType {
+  NOT_FOUND("not-found", HttpStatus.NOT_FOUND),
+  ALREADY_EXISTS("already-exists", HttpStatus.CONFLICT),
+  KEYCLOAK_ERROR("keycloak-error", HttpStatus.INTERNAL_SERVER_ERROR),
+  VALIDATION_ERROR("validation-error", HttpStatus.BAD_REQUEST),
+  RATE_LIMITED("rate-limited", HttpStatus.TOO_MANY_REQUESTS);
+
+  private static final String BASE_URI = "https://sportivo.local/errors/";
+
+  private final String code;
+  private final HttpStatus status;
+  private final URI uri;
+
+  ProblemType(String code, HttpStatus status) {
+    this.code = code;
+    this.status = status;
+    this.uri = URI.create(BASE_URI + code);
+  }
+
+  public String code() {
+    return code;
+  }
+
+  public HttpStatus status() {
+    return status;
+  }
+
+  public URI uri() {
+    return uri;
+  }
+}
@@ -0,0 +1,19 @@
+package com.sadok.sportivo.common.exception;
+
+/**
+ * Thrown by the rate limit filter when the caller's budget is exhausted;
+ * rendered as {@code 429} with a {@code Retry-After} header.
+ */
+public class RateLimitExceededException extends DomainException {
+
+  private final long retryAfterSeconds;
+
+  public RateLimitExceededException(long retryAfterSeconds) {
+    super("Rate limit exceeded, retry after " + retryAfterSeconds + "s");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
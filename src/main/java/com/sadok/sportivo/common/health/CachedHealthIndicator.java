@@ -0,0 +1,75 @@
+package com.sadok.sportivo.common.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+/**
+ * Serves the last result of a delegate indicator that is evaluated in the
+ * background, so a health request never waits on a database, broker or
+ * remote API.
+ *
+ * <p>
+ * An evaluation that exceeds {@code timeout} is reported {@code DOWN}. A
+ * hung evaluation is never stacked: the next one starts only once it has
+ * returned, and until then the timeout result stays in place. Before the
+ * first evaluation completes the status is {@code UNKNOWN}, which does not
+ * affect the aggregate.
+ * </p>
+ */
+public class CachedHealthIndicator implements HealthIndicator {
+
+  private final HealthIndicator delegate;
+  private final Duration timeout;
+  private final AtomicBoolean inFlight = new AtomicBoolean();
+  private volatile Health cached = Health.unknown().withDetail("reason", "not checked yet").build();
+
+  public CachedHealthIndicator(HealthIndicator delegate, Duration timeout) {
+    this.delegate = delegate;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public Health health() {
+    return cached;
+  }
+
+  /** Starts an evaluation on {@code executor} unless the previous one is still running. */
+  public void refresh(Executor executor) {
+    if (!inFlight.compareAndSet(false, true)) {
+      return;
+    }
+    long start = System.nanoTime();
+    CompletableFuture<Health> evaluation = CompletableFuture.supplyAsync(delegate::health, executor);
+    evaluation.whenComplete((health, ex) -> inFlight.set(false));
+    evaluation.copy()
+        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((health, ex) -> cached = ex == null ? timed(health, start) : failed(ex));
+  }
+
+  private static Health timed(Health health, long start) {
+    if (health == null) {
+      return Health.unknown().build();
+    }
+    return Health.status(health.getStatus())
+        .withDetails(health.getDetails())
+        .withDetail("checkedAt", Instant.now().toString())
+        .withDetail("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+        .build();
+  }
+
+  private Health failed(Throwable ex) {
+    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+    Health.Builder down = Health.down().withDetail("checkedAt", Instant.now().toString());
+    return cause instanceof TimeoutException
+        ? down.withDetail("error", "timed out after " + timeout).build()
+        : down.withException(cause).build();
+  }
+}
@@ -0,0 +1,69 @@
+package com.sadok.sportivo.common.health;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+import com.sadok.sportivo.common.health.HealthCacheProperties.Check;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the configured health indicators (Boot's {@code db},
+ * {@code rabbit}, {@code diskSpace} and our {@code keycloak}) with
+ * {@link CachedHealthIndicator}s refreshed on their own schedule. Checks run
+ * on virtual threads; one platform thread does the scheduling.
+ */
+@Slf4j
+public class CachedHealthIndicatorPostProcessor implements BeanPostProcessor, DisposableBean {
+
+  private static final String[] NAME_SUFFIXES = { "HealthIndicator", "HealthContributor" };
+
+  private final HealthCacheProperties properties;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("health-scheduler").daemon().factory());
+  private final ExecutorService checks = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("health-check-", 0).factory());
+
+  public CachedHealthIndicatorPostProcessor(HealthCacheProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!properties.enabled() || !(bean instanceof HealthIndicator indicator)
+        || bean instanceof CachedHealthIndicator) {
+      return bean;
+    }
+    Check check = properties.check(contributorName(beanName));
+    if (check == null) {
+      return bean;
+    }
+    CachedHealthIndicator cached = new CachedHealthIndicator(indicator, properties.timeoutOf(check));
+    scheduler.scheduleWithFixedDelay(() -> cached.refresh(checks),
+        0, properties.intervalOf(check).toMillis(), TimeUnit.MILLISECONDS);
+    log.debug("Health indicator '{}' evaluated in the background every {}", beanName, properties.intervalOf(check));
+    return cached;
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    checks.shutdownNow();
+  }
+
+  /** Same naming as the health endpoint: the bean name without its type suffix. */
+  private static String contributorName(String beanName) {
+    for (String suffix : NAME_SUFFIXES) {
+      if (beanName.length() > suffix.length() && beanName.endsWith(suffix)) {
+        return beanName.substring(0, beanName.length() - suffix.length());
+      }
+    }
+    return beanName;
+  }
+}
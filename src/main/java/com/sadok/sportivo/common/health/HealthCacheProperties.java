@@ -0,0 +1,63 @@
+package com.sadok.sportivo.common.health;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Health indicators evaluated in the background, see
+ * {@link CachedHealthIndicatorPostProcessor}.
+ *
+ * @param enabled         whether indicators are cached at all; when off,
+ *                        every health request runs the checks inline
+ * @param defaultInterval evaluation interval for checks without their own
+ * @param defaultTimeout  time after which a check is reported {@code DOWN}
+ * @param checks          contributor names (as shown under
+ *                        {@code /actuator/health}) to cache, with optional
+ *                        per-check interval and timeout
+ */
+@ConfigurationProperties(prefix = "app.health.cache")
+public record HealthCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10s") Duration defaultInterval,
+    @DefaultValue("3s") Duration defaultTimeout,
+    Map<String, Check> checks) {
+
+  public HealthCacheProperties {
+    Map<String, Check> normalized = new HashMap<>();
+    if (checks == null) {
+      checks = Map.of("db", Check.DEFAULTS, "rabbit", Check.DEFAULTS, "diskSpace", Check.DEFAULTS,
+          "keycloak", Check.DEFAULTS);
+    }
+    checks.forEach((name, check) -> normalized.put(normalize(name), check == null ? Check.DEFAULTS : check));
+    checks = Map.copyOf(normalized);
+  }
+
+  /** @return the settings for contributor {@code name}, or {@code null} if it is not cached */
+  public Check check(String name) {
+    return checks.get(normalize(name));
+  }
+
+  public Duration intervalOf(Check check) {
+    return check.interval() != null ? check.interval() : defaultInterval;
+  }
+
+  public Duration timeoutOf(Check check) {
+    return check.timeout() != null ? check.timeout() : defaultTimeout;
+  }
+
+  // "diskSpace", "disk-space" and "diskspace" all name the same contributor
+  private static String normalize(String name) {
+    return name.replace("-", "").toLowerCase(Locale.ROOT);
+  }
+
+  /** Either value may be omitted to use the defaults. */
+  public record Check(Duration interval, Duration timeout) {
+
+    static final Check DEFAULTS = new Check(null, null);
+  }
+}
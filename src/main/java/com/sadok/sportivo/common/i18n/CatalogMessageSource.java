@@ -0,0 +1,34 @@
+package com.sadok.sportivo.common.i18n;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import org.springframework.context.support.AbstractMessageSource;
+
+/**
+ * {@link org.springframework.context.MessageSource} view over a
+ * {@link MessageCatalog}, so Bean Validation and any other Spring consumer
+ * read from the same precompiled catalog as {@code MessageService}.
+ */
+public class CatalogMessageSource extends AbstractMessageSource {
+
+  private final MessageCatalog catalog;
+
+  public CatalogMessageSource(MessageCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  public MessageCatalog getCatalog() {
+    return catalog;
+  }
+
+  @Override
+  protected String resolveCodeWithoutArguments(String code, Locale locale) {
+    return catalog.pattern(code, locale);
+  }
+
+  @Override
+  protected MessageFormat resolveCode(String code, Locale locale) {
+    return catalog.messageFormat(code, locale);
+  }
+}
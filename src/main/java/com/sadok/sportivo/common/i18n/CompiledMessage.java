@@ -0,0 +1,164 @@
+package com.sadok.sportivo.common.i18n;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A message pattern parsed once into literal segments and argument slots.
+ *
+ * <p>
+ * Patterns that only use plain {@code {n}} placeholders and {@code '}
+ * escaping (all of ours today) are rendered with a single
+ * {@link StringBuilder}. Anything richer — format types such as
+ * {@code {0,number}}, or numeric/date arguments that need locale formatting —
+ * goes through a per-message {@link MessageFormat}, exactly as Spring would.
+ * </p>
+ */
+final class CompiledMessage {
+
+  private final String pattern;
+  private final Locale locale;
+  /** Literal text; {@code literals[i]} precedes {@code argIndexes[i]}. */
+  private final String[] literals;
+  private final int[] argIndexes;
+  /** Set when the pattern cannot use the fast path; guarded by itself. */
+  private final MessageFormat complex;
+  /** Lazily built for callers that need a {@link MessageFormat}; guarded by itself. */
+  private volatile MessageFormat messageFormat;
+  private final int estimatedLength;
+
+  private CompiledMessage(String pattern, Locale locale, String[] literals, int[] argIndexes,
+      MessageFormat complex) {
+    this.pattern = pattern;
+    this.locale = locale;
+    this.literals = literals;
+    this.argIndexes = argIndexes;
+    this.complex = complex;
+    this.estimatedLength = pattern.length() + 16 * (argIndexes == null ? 0 : argIndexes.length);
+  }
+
+  static CompiledMessage compile(String pattern, Locale locale) {
+    List<String> literals = new ArrayList<>();
+    List<Integer> args = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+          current.append('\'');
+          i += 2;
+          continue;
+        }
+        quoted = !quoted;
+        i++;
+        continue;
+      }
+      if (c == '{' && !quoted) {
+        int close = pattern.indexOf('}', i);
+        Integer index = close < 0 ? null : parseIndex(pattern, i + 1, close);
+        if (index == null) {
+          return complex(pattern, locale);
+        }
+        literals.add(current.toString());
+        args.add(index);
+        current.setLength(0);
+        i = close + 1;
+        continue;
+      }
+      current.append(c);
+      i++;
+    }
+    literals.add(current.toString());
+    return new CompiledMessage(pattern, locale, literals.toArray(String[]::new),
+        args.stream().mapToInt(Integer::intValue).toArray(), null);
+  }
+
+  String pattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns the shared {@link MessageFormat} for this pattern, built on first
+   * use. {@code MessageFormat} is not thread-safe; callers synchronize on it,
+   * as Spring's {@code AbstractMessageSource} does. Patterns it cannot parse
+   * get one that renders the pattern verbatim, as {@link #format} does.
+   */
+  MessageFormat messageFormat() {
+    MessageFormat format = complex != null ? complex : messageFormat;
+    if (format == null) {
+      // racing threads may each build one; any of them is equivalent
+      format = parse(pattern, locale);
+      if (format == null) {
+        format = new MessageFormat("'" + pattern.replace("'", "''") + "'", locale);
+      }
+      messageFormat = format;
+    }
+    return format;
+  }
+
+  String format(Object... args) {
+    if (complex != null || (argIndexes.length > 0 && needsLocaleFormatting(args))) {
+      return formatWithMessageFormat(args);
+    }
+    StringBuilder sb = new StringBuilder(estimatedLength);
+    for (int i = 0; i < argIndexes.length; i++) {
+      sb.append(literals[i]);
+      int index = argIndexes[i];
+      if (index < args.length) {
+        sb.append(args[index]);
+      } else {
+        sb.append('{').append(index).append('}');
+      }
+    }
+    return sb.append(literals[argIndexes.length]).toString();
+  }
+
+  private String formatWithMessageFormat(Object... args) {
+    MessageFormat format = messageFormat();
+    synchronized (format) {
+      return format.format(args);
+    }
+  }
+
+  private static boolean needsLocaleFormatting(Object[] args) {
+    for (Object arg : args) {
+      if (arg instanceof Number || arg instanceof Date) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Integer parseIndex(String pattern, int from, int to) {
+    if (from == to) {
+      return null;
+    }
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = pattern.charAt(i);
+      if (c < '0' || c > '9') {
+        return null;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static CompiledMessage complex(String pattern, Locale locale) {
+    return new CompiledMessage(pattern, locale, new String[] { pattern }, new int[0], parse(pattern, locale));
+  }
+
+  private static MessageFormat parse(String pattern, Locale locale) {
+    try {
+      return new MessageFormat(pattern, locale);
+    } catch (IllegalArgumentException ex) {
+      // e.g. Bean Validation placeholders such as {min}; only ever used verbatim
+      return null;
+    }
+  }
+}
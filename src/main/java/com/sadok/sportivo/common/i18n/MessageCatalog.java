@@ -0,0 +1,125 @@
+package com.sadok.sportivo.common.i18n;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+/**
+ * Immutable message catalog compiled once at startup from
+ * {@code messages_<locale>.properties}.
+ *
+ * <p>
+ * Every pattern is parsed up front into a {@link CompiledMessage}, so a lookup
+ * is two hash-map reads and a single {@link StringBuilder} pass; no file
+ * checks, no locale fallback chain and no {@link MessageFormat} parsing on the
+ * request path. Keys missing from a locale fall back to the default locale at
+ * build time.
+ * </p>
+ */
+public final class MessageCatalog {
+
+  private final Locale defaultLocale;
+  private final Map<Locale, Map<String, CompiledMessage>> messages;
+
+  private MessageCatalog(Locale defaultLocale, Map<Locale, Map<String, CompiledMessage>> messages) {
+    this.defaultLocale = defaultLocale;
+    this.messages = messages;
+  }
+
+  /**
+   * Loads {@code <basename>_<locale>.properties} from the classpath for each
+   * supported locale. The default locale must be part of {@code locales}.
+   */
+  public static MessageCatalog load(String basename, List<Locale> locales, Locale defaultLocale) {
+    Map<String, String> defaults = read(basename, defaultLocale);
+    Map<Locale, Map<String, CompiledMessage>> compiled = new HashMap<>();
+    for (Locale locale : locales) {
+      Map<String, String> merged = new LinkedHashMap<>(defaults);
+      if (!locale.equals(defaultLocale)) {
+        merged.putAll(read(basename, locale));
+      }
+      Map<String, CompiledMessage> byKey = new HashMap<>(merged.size() * 2);
+      merged.forEach((key, pattern) -> byKey.put(key, CompiledMessage.compile(pattern, locale)));
+      compiled.put(locale, Collections.unmodifiableMap(byKey));
+    }
+    return new MessageCatalog(defaultLocale, Collections.unmodifiableMap(compiled));
+  }
+
+  /**
+   * Formats the message for {@code key}, or returns {@code null} when the key
+   * is unknown. Like Spring's {@code AbstractMessageSource}, a message
+   * requested without arguments is returned verbatim.
+   */
+  public String format(String key, Locale locale, Object... args) {
+    CompiledMessage message = lookup(key, locale);
+    if (message == null) {
+      return null;
+    }
+    return args == null || args.length == 0 ? message.pattern() : message.format(args);
+  }
+
+  /** Returns the unformatted pattern for {@code key}, or {@code null}. */
+  public String pattern(String key, Locale locale) {
+    CompiledMessage message = lookup(key, locale);
+    return message == null ? null : message.pattern();
+  }
+
+  /**
+   * Returns the {@link MessageFormat} for {@code key}, or {@code null}. The
+   * instance is built once per key and locale and shared, so callers must
+   * synchronize on it while formatting.
+   */
+  public MessageFormat messageFormat(String key, Locale locale) {
+    CompiledMessage message = lookup(key, locale);
+    return message == null ? null : message.messageFormat();
+  }
+
+  public Set<Locale> locales() {
+    return messages.keySet();
+  }
+
+  public Set<String> keys() {
+    return messages.get(defaultLocale).keySet();
+  }
+
+  private CompiledMessage lookup(String key, Locale locale) {
+    Map<String, CompiledMessage> byKey = messages.get(locale);
+    if (byKey == null && locale != null && !locale.getCountry().isEmpty()) {
+      byKey = messages.get(Locale.of(locale.getLanguage()));
+    }
+    if (byKey == null) {
+      byKey = messages.get(defaultLocale);
+    }
+    return byKey.get(key);
+  }
+
+  private static Map<String, String> read(String basename, Locale locale) {
+    Resource resource = new ClassPathResource(basename + "_" + locale + ".properties");
+    if (!resource.exists()) {
+      return Map.of();
+    }
+    try {
+      Properties properties = PropertiesLoaderUtils.loadProperties(
+          new EncodedResource(resource, StandardCharsets.UTF_8));
+      Map<String, String> entries = new LinkedHashMap<>();
+      properties.stringPropertyNames().forEach(name -> entries.put(name, properties.getProperty(name)));
+      return entries;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to load message bundle " + resource, ex);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.sadok.sportivo.common.jdbc;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which database the application talks to, for the few JDBC components that
+ * use vendor-specific SQL. Detected from the connection metadata on first
+ * use and cached, so each component does not repeat the lookup.
+ */
+@Component
+public class DatabaseVendor {
+
+  private final DataSource dataSource;
+  private volatile Boolean postgres;
+
+  public DatabaseVendor(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /** {@code true} on PostgreSQL; {@code false} elsewhere or if the metadata cannot be read. */
+  public boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      try {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        result = "PostgreSQL".equals(JdbcUtils.commonDatabaseName(product));
+      } catch (MetaDataAccessException ex) {
+        result = false;
+      }
+      postgres = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,17 @@
+package com.sadok.sportivo.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** {@code operation} is the transaction name, usually {@code Class.method}. */
+@Name("com.sadok.sportivo.DbTransaction")
+@Label("Database Transaction")
+@Category({ "Sportivo", "Database" })
+@Description("A Spring-managed transaction, from begin to commit or rollback")
+class DbTransactionEvent extends OperationEvent {
+
+  @Label("Read Only")
+  boolean readOnly;
+}
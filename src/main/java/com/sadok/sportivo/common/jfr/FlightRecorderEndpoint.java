@@ -0,0 +1,182 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code /actuator/flightrecorder}: controls the continuous JFR recording.
+ *
+ * <ul>
+ * <li>{@code GET} — state of the recording</li>
+ * <li>{@code POST} — start it (no-op if running)</li>
+ * <li>{@code DELETE} — stop and discard it</li>
+ * <li>{@code GET /dump} — download what it holds as a {@code .jfr} file</li>
+ * </ul>
+ * Admin-only, like every actuator endpoint but health and info. Where JFR is
+ * missing (a native image built without {@code --enable-monitoring=jfr}) the
+ * state is {@code UNAVAILABLE} and {@code POST} does nothing.
+ */
+@Slf4j
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+  static final String RECORDING_NAME = "sportivo";
+  private static final String DUMP = "dump";
+  private static final List<Class<? extends Event>> EVENTS = List.of(
+      UserOperationEvent.class, KeycloakCallEvent.class, RabbitPublishEvent.class, DbTransactionEvent.class);
+
+  private final JfrProperties properties;
+  private final ReentrantLock lock = new ReentrantLock();
+  private Recording recording;
+  private Path lastDump;
+
+  FlightRecorderEndpoint(JfrProperties properties) {
+    this.properties = properties;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void startOnStartup() {
+    if (!properties.startOnStartup()) {
+      return;
+    }
+    if (!FlightRecorder.isAvailable()) {
+      log.warn("JFR is not available in this runtime; recording '{}' not started", RECORDING_NAME);
+      return;
+    }
+    start();
+  }
+
+  @ReadOperation
+  public Map<String, Object> status() {
+    lock.lock();
+    try {
+      Map<String, Object> status = new LinkedHashMap<>();
+      status.put("name", RECORDING_NAME);
+      if (!FlightRecorder.isAvailable()) {
+        status.put("state", "UNAVAILABLE");
+        return status;
+      }
+      if (recording == null) {
+        status.put("state", "STOPPED");
+        return status;
+      }
+      status.put("state", recording.getState().name());
+      status.put("settings", properties.settings());
+      status.put("startTime", recording.getStartTime());
+      status.put("maxAge", recording.getMaxAge());
+      status.put("maxSizeBytes", recording.getMaxSize());
+      status.put("sizeBytes", recording.getSize());
+      return status;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @WriteOperation
+  public Map<String, Object> start() {
+    lock.lock();
+    try {
+      if (recording == null && FlightRecorder.isAvailable()) {
+        Recording started = new Recording(Configuration.getConfiguration(properties.settings()));
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.maxAge());
+        started.setMaxSize(properties.maxSize().toBytes());
+        EVENTS.forEach(started::enable);
+        started.start();
+        recording = started;
+        log.info("JFR recording '{}' started [settings={}, maxAge={}]",
+            RECORDING_NAME, properties.settings(), properties.maxAge());
+      }
+    } catch (IOException | ParseException ex) {
+      throw new IllegalStateException("Unknown JFR settings '" + properties.settings() + "'", ex);
+    } finally {
+      lock.unlock();
+    }
+    return status();
+  }
+
+  @DeleteOperation
+  public Map<String, Object> stop() {
+    lock.lock();
+    try {
+      if (recording != null) {
+        recording.close();
+        recording = null;
+        log.info("JFR recording '{}' stopped", RECORDING_NAME);
+      }
+    } finally {
+      lock.unlock();
+    }
+    return status();
+  }
+
+  /** @return the recording as a file, or {@code null} (404) when none is running */
+  @ReadOperation(produces = "application/octet-stream")
+  public Resource dump(@Selector String action) {
+    if (!DUMP.equals(action)) {
+      return null;
+    }
+    lock.lock();
+    try {
+      if (recording == null) {
+        return null;
+      }
+      deleteLastDump();
+      lastDump = Files.createTempFile("sportivo-", ".jfr");
+      recording.dump(lastDump);
+      return new FileSystemResource(lastDump);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    stop();
+    lock.lock();
+    try {
+      deleteLastDump();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Only the latest dump is kept; it must outlive the response that streams it.
+  private void deleteLastDump() {
+    if (lastDump != null) {
+      try {
+        Files.deleteIfExists(lastDump);
+      } catch (IOException ex) {
+        log.warn("Could not delete JFR dump {}", lastDump, ex);
+      }
+      lastDump = null;
+    }
+  }
+}
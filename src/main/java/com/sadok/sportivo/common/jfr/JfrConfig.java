@@ -0,0 +1,74 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+import com.sadok.sportivo.users.UserService;
+
+/**
+ * JFR instrumentation. The advisors are infrastructure beans, so they join
+ * the proxies Spring already builds for transactions and method security
+ * instead of adding another layer; they are ordered first, so a user
+ * operation's duration includes its transaction. Transactions themselves are
+ * recorded by {@link JfrTransactionListener}, which Boot registers on the
+ * transaction manager.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor userOperationJfrAdvisor() {
+    return publicMethodsOf(UserService.class, UserOperationEvent::new);
+  }
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor keycloakCallJfrAdvisor() {
+    return publicMethodsOf(KeycloakAdminService.class, KeycloakCallEvent::new);
+  }
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor rabbitPublishJfrAdvisor() {
+    return publicMethodsOf(RabbitMqProducer.class, RabbitPublishEvent::new);
+  }
+
+  @Bean
+  JfrTransactionListener jfrTransactionListener() {
+    return new JfrTransactionListener();
+  }
+
+  @Bean
+  FlightRecorderEndpoint flightRecorderEndpoint(JfrProperties properties) {
+    return new FlightRecorderEndpoint(properties);
+  }
+
+  private static Advisor publicMethodsOf(Class<?> type, Supplier<OperationEvent> eventFactory) {
+    StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+      @Override
+      public boolean matches(Method method, Class<?> targetClass) {
+        return method.getDeclaringClass() == type && Modifier.isPublic(method.getModifiers());
+      }
+    };
+    pointcut.setClassFilter(new RootClassFilter(type));
+    DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new JfrMethodInterceptor(eventFactory));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+}
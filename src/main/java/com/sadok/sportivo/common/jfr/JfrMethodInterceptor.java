@@ -0,0 +1,54 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Wraps a method call in a JFR event named after the method. When the event
+ * type is disabled (no recording, or turned off in its settings) the cost is
+ * one allocation the JIT usually removes and an {@code isEnabled} check.
+ */
+class JfrMethodInterceptor implements MethodInterceptor {
+
+  private final Supplier<OperationEvent> eventFactory;
+
+  JfrMethodInterceptor(Supplier<OperationEvent> eventFactory) {
+    this.eventFactory = eventFactory;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    OperationEvent event = eventFactory.get();
+    if (!event.isEnabled()) {
+      return invocation.proceed();
+    }
+    event.operation = invocation.getMethod().getName();
+    describe(event, invocation.getArguments());
+    event.begin();
+    try {
+      Object result = invocation.proceed();
+      event.outcome = OperationEvent.SUCCESS;
+      return result;
+    } catch (Throwable ex) {
+      event.outcome = ex.getClass().getSimpleName();
+      throw ex;
+    } finally {
+      event.commit();
+    }
+  }
+
+  private static void describe(OperationEvent event, Object[] arguments) {
+    Object first = arguments.length > 0 ? arguments[0] : null;
+    if (event instanceof UserOperationEvent e && first instanceof UUID id) {
+      e.userId = id.toString();
+    } else if (event instanceof KeycloakCallEvent e && first instanceof UUID id) {
+      e.userId = id.toString();
+    } else if (event instanceof RabbitPublishEvent e && arguments.length == 2 && first instanceof String key) {
+      // publish(routingKey, payload); sendMessage(email) uses the fixed mail key
+      e.routingKey = key;
+    }
+  }
+}
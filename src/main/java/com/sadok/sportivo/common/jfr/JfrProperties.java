@@ -0,0 +1,23 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param startOnStartup whether the continuous recording starts with the
+ *                       application
+ * @param settings       JFR configuration ({@code default} or
+ *                       {@code profile}) the recording uses
+ * @param maxAge         how much history the recording keeps in memory/disk
+ * @param maxSize        size cap of the recording
+ */
+@ConfigurationProperties(prefix = "app.jfr")
+public record JfrProperties(
+    @DefaultValue("true") boolean startOnStartup,
+    @DefaultValue("default") String settings,
+    @DefaultValue("15m") Duration maxAge,
+    @DefaultValue("100MB") DataSize maxSize) {
+}
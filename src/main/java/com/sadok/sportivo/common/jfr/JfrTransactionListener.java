@@ -0,0 +1,63 @@
+package com.sadok.sportivo.common.jfr;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Emits a {@link DbTransactionEvent} per physical transaction. Spring only
+ * notifies listeners for new transactions, so begin and completion always
+ * pair up; a per-thread stack handles {@code REQUIRES_NEW} nesting.
+ * {@code outcome} is {@code commit}, {@code rollback} or the exception that
+ * made begin, commit or rollback fail.
+ */
+class JfrTransactionListener implements TransactionExecutionListener {
+
+  private static final DbTransactionEvent DISABLED = new DbTransactionEvent();
+
+  private final ThreadLocal<Deque<DbTransactionEvent>> open = ThreadLocal.withInitial(ArrayDeque::new);
+
+  @Override
+  public void beforeBegin(TransactionExecution transaction) {
+    DbTransactionEvent event = new DbTransactionEvent();
+    if (event.isEnabled()) {
+      event.operation = transaction.getTransactionName();
+      event.readOnly = transaction.isReadOnly();
+      event.begin();
+    }
+    // pushed even when disabled, so a recording started mid-transaction stays balanced
+    open.get().push(event.isEnabled() ? event : DISABLED);
+  }
+
+  @Override
+  public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+    if (beginFailure != null) {
+      end(beginFailure, null);
+    }
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    end(commitFailure, "commit");
+  }
+
+  @Override
+  public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+    end(rollbackFailure, "rollback");
+  }
+
+  private void end(Throwable failure, String outcome) {
+    Deque<DbTransactionEvent> stack = open.get();
+    DbTransactionEvent event = stack.poll();
+    if (stack.isEmpty()) {
+      open.remove();
+    }
+    if (event == null || event == DISABLED) {
+      return;
+    }
+    event.outcome = failure != null ? failure.getClass().getSimpleName() : outcome;
+    event.commit();
+  }
+}
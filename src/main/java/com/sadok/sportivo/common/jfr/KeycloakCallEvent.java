@@ -0,0 +1,16 @@
+package com.sadok.sportivo.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.sadok.sportivo.KeycloakCall")
+@Label("Keycloak Admin Call")
+@Category({ "Sportivo", "Outbound" })
+@Description("A KeycloakAdminService call to the Keycloak admin API")
+class KeycloakCallEvent extends OperationEvent {
+
+  @Label("User Id")
+  String userId;
+}
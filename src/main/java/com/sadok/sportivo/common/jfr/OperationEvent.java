@@ -0,0 +1,22 @@
+package com.sadok.sportivo.common.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by the Sportivo JFR events. Duration and thread come from
+ * JFR itself; {@code outcome} is {@code success} or the simple name of the
+ * exception that ended the operation.
+ */
+@StackTrace(false)
+abstract class OperationEvent extends Event {
+
+  static final String SUCCESS = "success";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Outcome")
+  String outcome;
+}
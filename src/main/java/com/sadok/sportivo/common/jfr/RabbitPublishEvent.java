@@ -0,0 +1,16 @@
+package com.sadok.sportivo.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.sadok.sportivo.RabbitPublish")
+@Label("RabbitMQ Publish")
+@Category({ "Sportivo", "Outbound" })
+@Description("A message published through RabbitMqProducer")
+class RabbitPublishEvent extends OperationEvent {
+
+  @Label("Routing Key")
+  String routingKey;
+}
@@ -0,0 +1,16 @@
+package com.sadok.sportivo.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.sadok.sportivo.UserOperation")
+@Label("User Operation")
+@Category({ "Sportivo", "Users" })
+@Description("A public UserService method call, including its transaction")
+class UserOperationEvent extends OperationEvent {
+
+  @Label("User Id")
+  String userId;
+}
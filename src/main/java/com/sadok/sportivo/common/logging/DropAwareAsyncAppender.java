@@ -0,0 +1,63 @@
+package com.sadok.sportivo.common.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Bounded {@link AsyncAppender} whose drop policy is level-aware.
+ *
+ * <p>
+ * When the queue's remaining capacity falls below {@code discardingThreshold},
+ * events at or below {@code droppableLevel} (DEBUG or INFO) are dropped so a
+ * slow sink never stalls request threads. WARN and ERROR are never dropped:
+ * the appender does not run in {@code neverBlock} mode, so those wait for
+ * space instead. Dropped and shipped events are counted per appender for
+ * {@link LoggingMetrics}.
+ * </p>
+ */
+public class DropAwareAsyncAppender extends AsyncAppender {
+
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder shipped = new LongAdder();
+
+  private Level droppableLevel = Level.INFO;
+
+  /** Highest level that may be dropped under pressure; capped at INFO. */
+  public void setDroppableLevel(String level) {
+    Level parsed = Level.toLevel(level, Level.INFO);
+    this.droppableLevel = parsed.isGreaterOrEqual(Level.WARN) ? Level.INFO : parsed;
+  }
+
+  @Override
+  public void start() {
+    setNeverBlock(false);
+    super.start();
+  }
+
+  @Override
+  protected boolean isDiscardable(ILoggingEvent event) {
+    boolean discard = !event.getLevel().isGreaterOrEqual(Level.WARN)
+        && droppableLevel.isGreaterOrEqual(event.getLevel());
+    if (discard) {
+      dropped.increment();
+    }
+    return discard;
+  }
+
+  @Override
+  protected void preprocess(ILoggingEvent event) {
+    super.preprocess(event);
+    shipped.increment();
+  }
+
+  long droppedCount() {
+    return dropped.sum();
+  }
+
+  long shippedCount() {
+    return shipped.sum();
+  }
+}
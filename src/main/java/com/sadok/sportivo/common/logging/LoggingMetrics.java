@@ -0,0 +1,57 @@
+package com.sadok.sportivo.common.logging;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the counters of each {@link DropAwareAsyncAppender}, tagged with the
+ * appender name. Logback starts before the application context, so the counts
+ * live in the appenders and are only read here; the appenders are found by
+ * walking the loggers of the Logback context.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (DropAwareAsyncAppender appender : appenders()) {
+      FunctionCounter.builder("sportivo.logging.events", appender, DropAwareAsyncAppender::shippedCount)
+          .description("Log events handed to the async appender")
+          .tag("appender", appender.getName())
+          .tag("outcome", "shipped")
+          .register(registry);
+      FunctionCounter.builder("sportivo.logging.events", appender, DropAwareAsyncAppender::droppedCount)
+          .description("Log events dropped because the async appender queue was nearly full")
+          .tag("appender", appender.getName())
+          .tag("outcome", "dropped")
+          .register(registry);
+    }
+  }
+
+  /** Appenders attached to any logger, once each even if shared. */
+  static Collection<DropAwareAsyncAppender> appenders() {
+    if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+      return List.of();
+    }
+    Map<String, DropAwareAsyncAppender> found = new LinkedHashMap<>();
+    for (Logger logger : context.getLoggerList()) {
+      logger.iteratorForAppenders().forEachRemaining(appender -> {
+        if (appender instanceof DropAwareAsyncAppender async) {
+          found.putIfAbsent(async.getName(), async);
+        }
+      });
+    }
+    return found.values();
+  }
+}
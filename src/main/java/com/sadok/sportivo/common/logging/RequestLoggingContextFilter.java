@@ -0,0 +1,62 @@
+package com.sadok.sportivo.common.logging;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sadok.sportivo.security.SportivoPrincipal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts {@code requestId} and {@code userId} into the MDC for the duration of
+ * the request so every log line (console and Loki JSON) can be correlated.
+ * An incoming {@code X-Request-Id} is reused when it looks sane, and the id
+ * is echoed back on the response.
+ *
+ * <p>
+ * Registered in the security filter chain right after bearer token
+ * authentication, so the authenticated subject is already known.
+ * </p>
+ */
+public class RequestLoggingContextFilter extends OncePerRequestFilter {
+
+  public static final String REQUEST_ID_HEADER = "X-Request-Id";
+  public static final String REQUEST_ID = "requestId";
+  public static final String USER_ID = "userId";
+
+  private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+    response.setHeader(REQUEST_ID_HEADER, requestId);
+    MDC.put(REQUEST_ID, requestId);
+    SportivoPrincipal.current().ifPresent(principal -> MDC.put(USER_ID, principal.getName()));
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      MDC.remove(REQUEST_ID);
+      MDC.remove(USER_ID);
+    }
+  }
+
+  private static String requestId(String header) {
+    if (header == null || header.isEmpty() || header.length() > MAX_REQUEST_ID_LENGTH) {
+      return UUID.randomUUID().toString();
+    }
+    for (int i = 0; i < header.length(); i++) {
+      char c = header.charAt(i);
+      if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.')) {
+        return UUID.randomUUID().toString();
+      }
+    }
+    return header;
+  }
+}
@@ -0,0 +1,94 @@
+package com.sadok.sportivo.common.messaging;
+
+import java.util.Map;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserEvent;
+import com.sadok.sportivo.users.event.UserEventBinaryCodec;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Broker payload converter selected by the {@code content-type} header.
+ *
+ * <ul>
+ * <li>{@value #BINARY_CONTENT_TYPE}: {@link UserEventBinaryCodec}</li>
+ * <li>{@code application/json}: Jackson, with the concrete event type in the
+ * {@value #EVENT_TYPE_HEADER} header</li>
+ * <li>anything else: Spring's {@link SimpleMessageConverter} (plain strings,
+ * bytes)</li>
+ * </ul>
+ *
+ * Outgoing {@link UserEvent}s use the configured {@link Format}; consumers
+ * can always read both, so the format can be switched without coordination.
+ */
+public class UserEventMessageConverter implements MessageConverter {
+
+  public static final String BINARY_CONTENT_TYPE = "application/vnd.sportivo.user-event+binary";
+  public static final String EVENT_TYPE_HEADER = "x-sportivo-event-type";
+
+  public enum Format {
+    BINARY, JSON
+  }
+
+  private static final Map<String, Class<? extends UserEvent>> EVENT_TYPES = Map.of(
+      UserCreatedEvent.class.getSimpleName(), UserCreatedEvent.class,
+      UserUpdatedEvent.class.getSimpleName(), UserUpdatedEvent.class,
+      UserDeletedEvent.class.getSimpleName(), UserDeletedEvent.class);
+
+  private final Format format;
+  private final JsonMapper jsonMapper;
+  private final MessageConverter fallback = new SimpleMessageConverter();
+
+  public UserEventMessageConverter(Format format, JsonMapper jsonMapper) {
+    this.format = format;
+    this.jsonMapper = jsonMapper;
+  }
+
+  @Override
+  public Message toMessage(Object object, MessageProperties messageProperties) {
+    if (!(object instanceof UserEvent event)) {
+      return fallback.toMessage(object, messageProperties);
+    }
+    messageProperties.setHeader(EVENT_TYPE_HEADER, event.getClass().getSimpleName());
+    byte[] body;
+    if (format == Format.BINARY) {
+      body = UserEventBinaryCodec.encode(event);
+      messageProperties.setContentType(BINARY_CONTENT_TYPE);
+    } else {
+      body = jsonMapper.writeValueAsBytes(event);
+      messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+      messageProperties.setContentEncoding("UTF-8");
+    }
+    messageProperties.setContentLength(body.length);
+    return new Message(body, messageProperties);
+  }
+
+  @Override
+  public Object fromMessage(Message message) {
+    MessageProperties props = message.getMessageProperties();
+    String contentType = props.getContentType();
+    try {
+      if (contentType != null && contentType.startsWith(BINARY_CONTENT_TYPE)) {
+        return UserEventBinaryCodec.decode(message.getBody());
+      }
+      if (contentType != null && contentType.startsWith(MessageProperties.CONTENT_TYPE_JSON)) {
+        Class<? extends UserEvent> type = EVENT_TYPES.get(String.valueOf(props.getHeader(EVENT_TYPE_HEADER)));
+        if (type != null) {
+          return jsonMapper.readValue(message.getBody(), type);
+        }
+      }
+    } catch (RuntimeException ex) {
+      throw new MessageConversionException("Failed to decode user event [contentType=" + contentType + "]", ex);
+    }
+    return fallback.fromMessage(message);
+  }
+}
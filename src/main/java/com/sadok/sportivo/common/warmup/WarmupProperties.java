@@ -0,0 +1,21 @@
+package com.sadok.sportivo.common.warmup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Pre-readiness warmup settings.
+ *
+ * @param enabled    run the warmup before the application reports ready
+ * @param iterations how many times each hot request path is exercised
+ * @param timeout    overall budget; a step still running when it runs out is
+ *                   abandoned and the remaining steps are skipped
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public record WarmupProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("500") int iterations,
+    @DefaultValue("30s") Duration timeout) {
+}
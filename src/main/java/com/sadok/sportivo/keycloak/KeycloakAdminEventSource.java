@@ -0,0 +1,128 @@
+package com.sadok.sportivo.keycloak;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.AdminEventRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.sadok.sportivo.common.exception.KeycloakException;
+import com.sadok.sportivo.users.sync.AdminEventSource;
+import com.sadok.sportivo.users.sync.UserAdminEvent;
+import com.sadok.sportivo.users.sync.UserAdminEvent.Operation;
+
+import jakarta.ws.rs.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads user changes from the realm's admin events
+ * ({@code GET /admin/realms/{realm}/admin-events}).
+ *
+ * <p>
+ * Keycloak returns admin events newest first and only filters by day, so
+ * pages are read until an event older than the requested time shows up.
+ * When the realm does not include representations in admin events, the
+ * current user is fetched for each update instead.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class KeycloakAdminEventSource implements AdminEventSource {
+
+  private static final int PAGE_SIZE = 200;
+  private static final List<String> OPERATIONS = List.of("CREATE", "UPDATE", "DELETE");
+  private static final String USERS_PATH = "users/";
+
+  private final ObjectProvider<Keycloak> keycloak;
+  private final KeycloakProperties keycloakProperties;
+  private final JsonMapper jsonMapper;
+
+  @Override
+  public List<UserAdminEvent> fetchSince(long sinceMillis) {
+    // dateFrom is a day in the server's zone; start a day early and filter by time
+    String dateFrom = LocalDate.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneOffset.UTC).minusDays(1).toString();
+    List<UserAdminEvent> events = new ArrayList<>();
+    try {
+      for (int first = 0;; first += PAGE_SIZE) {
+        List<AdminEventRepresentation> page = realm().getAdminEvents(
+            OPERATIONS, null, null, null, null, USERS_PATH + "*", dateFrom, null, first, PAGE_SIZE);
+        boolean older = false;
+        for (AdminEventRepresentation rep : page) {
+          if (rep.getTime() < sinceMillis) {
+            older = true;
+            break;
+          }
+          toEvent(rep).ifPresent(events::add);
+        }
+        if (older || page.size() < PAGE_SIZE) {
+          break;
+        }
+      }
+    } catch (Exception ex) {
+      throw new KeycloakException("Failed to read admin events from Keycloak", ex);
+    }
+    Collections.reverse(events);
+    events.sort(Comparator.comparingLong(UserAdminEvent::time));
+    return events;
+  }
+
+  private Optional<UserAdminEvent> toEvent(AdminEventRepresentation rep) {
+    String path = rep.getResourcePath();
+    // users/{id} only; role mappings, credentials etc. live below it
+    if (!"USER".equals(rep.getResourceType()) || path == null || path.indexOf('/', USERS_PATH.length()) >= 0) {
+      return Optional.empty();
+    }
+    UUID userId = uuidOrNull(path.substring(USERS_PATH.length()));
+    if (userId == null) {
+      return Optional.empty();
+    }
+    UUID actorId = rep.getAuthDetails() == null ? null : uuidOrNull(rep.getAuthDetails().getUserId());
+    Operation operation = Operation.valueOf(rep.getOperationType());
+    if (operation == Operation.DELETE) {
+      return Optional.of(new UserAdminEvent(rep.getTime(), operation, userId, null, null, null, actorId));
+    }
+    if (rep.getRepresentation() != null) {
+      JsonNode user = jsonMapper.readTree(rep.getRepresentation());
+      return Optional.of(new UserAdminEvent(rep.getTime(), operation, userId,
+          text(user, "email"), text(user, "firstName"), text(user, "lastName"), actorId));
+    }
+    try {
+      UserRepresentation user = realm().users().get(userId.toString()).toRepresentation();
+      return Optional.of(new UserAdminEvent(rep.getTime(), operation, userId,
+          user.getEmail(), user.getFirstName(), user.getLastName(), actorId));
+    } catch (NotFoundException ex) {
+      // deleted since; its DELETE event follows
+      return Optional.empty();
+    }
+  }
+
+  private RealmResource realm() {
+    return keycloak.getObject().realm(keycloakProperties.realm());
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asString();
+  }
+
+  private static UUID uuidOrNull(String value) {
+    try {
+      return value == null ? null : UUID.fromString(value);
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
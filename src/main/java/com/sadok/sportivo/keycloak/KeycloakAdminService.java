@@ -6,16 +6,17 @@ import java.util.UUID;
 
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
-import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import com.sadok.sportivo.common.exception.KeycloakException;
 import com.sadok.sportivo.users.UserRole;
 import com.sadok.sportivo.users.dto.CreateUserRequest;
 
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 
@@ -30,7 +31,7 @@ public class KeycloakAdminService {
   private static final int PASSWORD_LENGTH = 12;
   private static final SecureRandom RANDOM = new SecureRandom();
 
-  private final Keycloak keycloak;
+  private final ObjectProvider<Keycloak> keycloak;
   private final KeycloakProperties keycloakProperties;
 
   public UserCreationResult createUser(CreateUserRequest request) {
@@ -57,17 +58,18 @@ public class KeycloakAdminService {
     }
   }
 
+  /**
+   * Sends only the non-null fields; Keycloak leaves fields that are null in
+   * the representation untouched. No read-modify-write, so concurrent updates
+   * of the same user cannot revert each other's fields.
+   */
   public void updateUser(UUID userId, String email, String firstName, String lastName) {
     try {
-      UserResource userResource = realm().users().get(userId.toString());
-      UserRepresentation rep = userResource.toRepresentation();
-      if (email != null)
-        rep.setEmail(email);
-      if (firstName != null)
-        rep.setFirstName(firstName);
-      if (lastName != null)
-        rep.setLastName(lastName);
-      userResource.update(rep);
+      UserRepresentation rep = new UserRepresentation();
+      rep.setEmail(email);
+      rep.setFirstName(firstName);
+      rep.setLastName(lastName);
+      realm().users().get(userId.toString()).update(rep);
     } catch (Exception ex) {
       throw new KeycloakException("Failed to update user in Keycloak [id=" + userId + "]", ex);
     }
@@ -85,15 +87,28 @@ public class KeycloakAdminService {
     }
   }
 
+  /**
+   * Deletes the identity. An identity that is already gone counts as
+   * deleted, so callers can retry safely; any other failure is thrown.
+   */
   public void deleteUser(UUID userId) {
-    try {
-      realm().users().delete(userId.toString());
+    try (Response response = realm().users().delete(userId.toString())) {
+      int status = response.getStatus();
+      if (status != 204 && status != 404) {
+        throw new KeycloakException(
+            "Failed to delete user in Keycloak [id=%s, status=%d]".formatted(userId, status));
+      }
+    } catch (KeycloakException ke) {
+      throw ke;
+    } catch (NotFoundException ex) {
+      // already gone
     } catch (Exception ex) {
+      throw new KeycloakException("Failed to delete user in Keycloak [id=" + userId + "]", ex);
     }
   }
 
   private RealmResource realm() {
-    return keycloak.realm(keycloakProperties.realm());
+    return keycloak.getObject().realm(keycloakProperties.realm());
   }
 
   private String generatePassword() {
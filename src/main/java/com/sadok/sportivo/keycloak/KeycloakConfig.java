@@ -5,12 +5,18 @@ import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 @EnableConfigurationProperties(KeycloakProperties.class)
 public class KeycloakConfig {
 
+  /**
+   * Built on first use: creating the RESTEasy client is a noticeable part of
+   * startup and nothing needs it before the first admin call.
+   */
   @Bean
+  @Lazy
   public Keycloak keycloakAdminClient(KeycloakProperties props) {
     return KeycloakBuilder.builder()
         .serverUrl(props.serverUrl())
@@ -0,0 +1,34 @@
+package com.sadok.sportivo.keycloak;
+
+import org.keycloak.admin.client.Keycloak;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that the admin API is reachable with the service account by reading
+ * the realm. Shown as {@code keycloak} under {@code /actuator/health} and
+ * evaluated in the background; deliberately in neither probe group, since
+ * reads keep working while Keycloak is down.
+ */
+@Component
+public class KeycloakHealthIndicator extends AbstractHealthIndicator {
+
+  private final ObjectProvider<Keycloak> keycloak;
+  private final KeycloakProperties keycloakProperties;
+
+  public KeycloakHealthIndicator(ObjectProvider<Keycloak> keycloak, KeycloakProperties keycloakProperties) {
+    super("Keycloak health check failed");
+    this.keycloak = keycloak;
+    this.keycloakProperties = keycloakProperties;
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) {
+    String realm = keycloak.getObject().realm(keycloakProperties.realm()).toRepresentation().getRealm();
+    builder.up()
+        .withDetail("serverUrl", keycloakProperties.serverUrl())
+        .withDetail("realm", realm);
+  }
+}
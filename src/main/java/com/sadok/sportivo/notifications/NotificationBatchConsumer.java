@@ -0,0 +1,144 @@
+package com.sadok.sportivo.notifications;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import com.sadok.sportivo.common.config.RabbitMQConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch consumer for {@code sportivo.queue}.
+ *
+ * <p>
+ * Each listener call receives up to {@code batchSize} messages, groups them by
+ * routing key and hands every group to {@link NotificationProcessor} in one
+ * call. A failing group is retried message by message; a message that still
+ * fails is republished to the retry queue with an incremented
+ * {@value #ATTEMPT_HEADER} header, or to the dead-letter queue once
+ * {@code maxAttempts} is reached. The batch itself therefore always succeeds
+ * and is acknowledged, so one poison message never blocks the queue.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NotificationBatchConsumer {
+
+  public static final String LISTENER_ID = "notifications";
+  public static final String ATTEMPT_HEADER = "x-sportivo-attempt";
+  /** Original routing key; retries come back through the default exchange. */
+  public static final String ROUTING_KEY_HEADER = "x-sportivo-routing-key";
+
+  private final NotificationProcessor processor;
+  private final RabbitTemplate rabbitTemplate;
+  private final NotificationConsumerProperties properties;
+
+  private final Counter processed;
+  private final Counter retried;
+  private final Counter deadLettered;
+  private final DistributionSummary batchSize;
+  private final Timer batchTimer;
+
+  public NotificationBatchConsumer(NotificationProcessor processor, RabbitTemplate rabbitTemplate,
+      NotificationConsumerProperties properties, MeterRegistry meterRegistry) {
+    this.processor = processor;
+    this.rabbitTemplate = rabbitTemplate;
+    this.properties = properties;
+    this.processed = consumed(meterRegistry, "processed");
+    this.retried = consumed(meterRegistry, "retried");
+    this.deadLettered = consumed(meterRegistry, "dead-lettered");
+    this.batchSize = DistributionSummary.builder("sportivo.notifications.batch.size")
+        .description("Messages per listener call")
+        .tag("consumer", LISTENER_ID)
+        .register(meterRegistry);
+    this.batchTimer = Timer.builder("sportivo.notifications.batch.duration")
+        .description("Time to process one batch")
+        .tag("consumer", LISTENER_ID)
+        .register(meterRegistry);
+  }
+
+  @RabbitListener(id = LISTENER_ID, queues = RabbitMQConfig.QUEUE_NAME,
+      containerFactory = RabbitMQConfig.BATCH_CONTAINER_FACTORY,
+      autoStartup = "${app.notifications.consumer.enabled:true}")
+  public void onBatch(List<Message> messages) {
+    batchSize.record(messages.size());
+    batchTimer.record(() -> groupByRoutingKey(messages).forEach(this::processGroup));
+  }
+
+  private void processGroup(String routingKey, List<Message> group) {
+    try {
+      processor.process(routingKey, group);
+      processed.increment(group.size());
+    } catch (Exception groupFailure) {
+      if (group.size() == 1) {
+        reject(group.get(0), groupFailure);
+        return;
+      }
+      for (Message message : group) {
+        try {
+          processor.process(routingKey, List.of(message));
+          processed.increment();
+        } catch (Exception ex) {
+          reject(message, ex);
+        }
+      }
+    }
+  }
+
+  private void reject(Message message, Exception cause) {
+    MessageProperties props = message.getMessageProperties();
+    int attempt = attemptOf(props) + 1;
+    props.setHeader(ATTEMPT_HEADER, attempt);
+    props.setHeader(ROUTING_KEY_HEADER, routingKeyOf(message));
+    if (attempt >= properties.maxAttempts()) {
+      log.error("Dead-lettering notification after {} attempt(s) [routingKey={}]",
+          attempt, routingKeyOf(message), cause);
+      rabbitTemplate.send(RabbitMQConfig.DEAD_LETTER_EXCHANGE_NAME, RabbitMQConfig.DEAD_LETTER_QUEUE_NAME, message);
+      deadLettered.increment();
+    } else {
+      log.warn("Notification failed, retrying in {} [attempt={}, routingKey={}]: {}",
+          properties.retryDelay(), attempt, routingKeyOf(message), cause.toString());
+      rabbitTemplate.send(RabbitMQConfig.RETRY_EXCHANGE_NAME, RabbitMQConfig.RETRY_QUEUE_NAME, message);
+      retried.increment();
+    }
+  }
+
+  private static int attemptOf(MessageProperties props) {
+    Object header = props.getHeader(ATTEMPT_HEADER);
+    return header instanceof Number n ? n.intValue() : 0;
+  }
+
+  private static String routingKeyOf(Message message) {
+    MessageProperties props = message.getMessageProperties();
+    Object original = props.getHeader(ROUTING_KEY_HEADER);
+    return original != null ? original.toString() : String.valueOf(props.getReceivedRoutingKey());
+  }
+
+  private static Map<String, List<Message>> groupByRoutingKey(List<Message> messages) {
+    Map<String, List<Message>> groups = new LinkedHashMap<>();
+    for (Message message : messages) {
+      groups.computeIfAbsent(routingKeyOf(message), k -> new ArrayList<>()).add(message);
+    }
+    return groups;
+  }
+
+  private static Counter consumed(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.notifications.consumed")
+        .description("Notification messages handled by the batch consumer")
+        .tag("consumer", LISTENER_ID)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,37 @@
+package com.sadok.sportivo.notifications;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tuning for the {@code sportivo.queue} batch consumer.
+ *
+ * @param enabled                  start the listener container on startup
+ * @param batchSize                maximum messages per listener call
+ * @param receiveTimeout           how long to wait to fill a batch
+ * @param prefetch                 unacked messages per consumer; at least
+ *                                 {@code batchSize}
+ * @param concurrency              consumers started initially
+ * @param maxConcurrency           upper bound when scaling on queue depth
+ * @param consecutiveActiveTrigger full receives in a row before adding a
+ *                                 consumer
+ * @param scaleUpInterval          minimum time between two scale-ups
+ * @param maxAttempts              deliveries before a message is
+ *                                 dead-lettered
+ * @param retryDelay               time a failed message waits before redelivery
+ */
+@ConfigurationProperties(prefix = "app.notifications.consumer")
+public record NotificationConsumerProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("200ms") Duration receiveTimeout,
+    @DefaultValue("250") int prefetch,
+    @DefaultValue("1") int concurrency,
+    @DefaultValue("8") int maxConcurrency,
+    @DefaultValue("5") int consecutiveActiveTrigger,
+    @DefaultValue("2s") Duration scaleUpInterval,
+    @DefaultValue("3") int maxAttempts,
+    @DefaultValue("10s") Duration retryDelay) {
+}
@@ -0,0 +1,27 @@
+package com.sadok.sportivo.notifications;
+
+import java.util.List;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles a group of notification messages that share a routing key.
+ *
+ * <p>
+ * Email delivery is moving to the notification service (see
+ * {@code NOTIFICATION_SERVICE_MIGRATION.md}); until then this only records
+ * what would be sent. Throwing fails the whole group, after which the
+ * consumer retries its messages one by one to isolate the poison message.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NotificationProcessor {
+
+  public void process(String routingKey, List<Message> messages) {
+    log.debug("Processing {} notification(s) [routingKey={}]", messages.size(), routingKey);
+  }
+}
@@ -0,0 +1,86 @@
+package com.sadok.sportivo.security;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.sadok.sportivo.common.exception.RateLimitExceededException;
+import com.sadok.sportivo.security.RateLimiter.Kind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles authenticated callers per {@link SportivoPrincipal}, with a
+ * separate budget for reads ({@code GET}, {@code HEAD}, {@code OPTIONS} and
+ * the read-only {@code POST /api/v1/users/lookup}) and writes (everything
+ * else; those fan out into Keycloak admin calls).
+ *
+ * <p>
+ * Throttled requests are turned into a {@link RateLimitExceededException}
+ * and handed to the MVC {@link HandlerExceptionResolver}, so the 429 is the
+ * same problem detail the controllers produce. Anonymous requests pass
+ * through untouched; they are rejected by authorization anyway.
+ * </p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  /** POST endpoints that only read (request body too large for a query string). */
+  private static final RequestMatcher READ_ONLY_POSTS = PathPatternRequestMatcher.withDefaults()
+      .matcher(HttpMethod.POST, "/api/v1/users/lookup");
+
+  private final RateLimiter limiter;
+  private final HandlerExceptionResolver exceptionResolver;
+  private final Map<Kind, Counter> throttled = new EnumMap<>(Kind.class);
+
+  public RateLimitFilter(RateLimiter limiter, HandlerExceptionResolver exceptionResolver,
+      MeterRegistry meterRegistry) {
+    this.limiter = limiter;
+    this.exceptionResolver = exceptionResolver;
+    for (Kind kind : Kind.values()) {
+      throttled.put(kind, Counter.builder("sportivo.ratelimit.throttled")
+          .description("Requests rejected with 429, by budget")
+          .tag("budget", kind.name().toLowerCase())
+          .register(meterRegistry));
+    }
+    Gauge.builder("sportivo.ratelimit.buckets", limiter, RateLimiter::size)
+        .description("Callers currently below their full budget")
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    SportivoPrincipal principal = SportivoPrincipal.current().orElse(null);
+    if (principal != null) {
+      Kind kind = isRead(request) ? Kind.READ : Kind.WRITE;
+      long waitNanos = limiter.tryAcquire(principal.getName(), kind);
+      if (waitNanos > 0) {
+        throttled.get(kind).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        exceptionResolver.resolveException(request, response, null, new RateLimitExceededException(retryAfter));
+        return;
+      }
+    }
+    chain.doFilter(request, response);
+  }
+
+  /** Matched within the servlet context, so a context path does not matter. */
+  static boolean isRead(HttpServletRequest request) {
+    String method = request.getMethod();
+    return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)
+        || READ_ONLY_POSTS.matches(request);
+  }
+}
@@ -0,0 +1,35 @@
+package com.sadok.sportivo.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-principal request budgets, see {@link RateLimitFilter}.
+ *
+ * @param enabled       whether the filter throttles at all
+ * @param read          budget for {@code GET}/{@code HEAD}/{@code OPTIONS}
+ *                      requests and the read-only lookup {@code POST}
+ * @param write         budget for everything else (Keycloak-backed writes)
+ * @param sweepInterval how often fully refilled buckets are evicted
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    Budget read,
+    Budget write,
+    @DefaultValue("1m") Duration sweepInterval) {
+
+  public RateLimitProperties {
+    read = read != null ? read : new Budget(200, Duration.ofSeconds(10));
+    write = write != null ? write : new Budget(20, Duration.ofMinutes(1));
+  }
+
+  /**
+   * {@code capacity} requests may be made back to back; the budget then
+   * refills at {@code capacity} per {@code period}.
+   */
+  public record Budget(int capacity, Duration period) {
+  }
+}
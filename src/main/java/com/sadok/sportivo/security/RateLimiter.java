@@ -0,0 +1,72 @@
+package com.sadok.sportivo.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sadok.sportivo.security.RateLimitProperties.Budget;
+
+/**
+ * Per-key pair of {@link TokenBucket}s, one for reads and one for writes.
+ *
+ * <p>
+ * Memory stays bounded by the number of callers that are currently
+ * <em>not</em> at full budget: at most once per {@code sweepInterval} (and
+ * piggybacked on a request, so no extra thread) buckets that have refilled
+ * completely are removed, since a fresh bucket is indistinguishable from a
+ * full one.
+ * </p>
+ */
+public class RateLimiter {
+
+  public enum Kind {
+    READ,
+    WRITE
+  }
+
+  private final Budget read;
+  private final Budget write;
+  private final long sweepIntervalNanos;
+  private final Map<String, Buckets> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweep;
+
+  public RateLimiter(RateLimitProperties properties) {
+    this.read = properties.read();
+    this.write = properties.write();
+    this.sweepIntervalNanos = properties.sweepInterval().toNanos();
+    this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+  }
+
+  /**
+   * @return {@code 0} when the request may proceed, otherwise the
+   *         nanoseconds until the caller's {@code kind} budget has a token
+   */
+  public long tryAcquire(String key, Kind kind) {
+    long now = System.nanoTime();
+    sweepIfDue(now);
+    Buckets pair = buckets.get(key);
+    if (pair == null) {
+      pair = buckets.computeIfAbsent(key, k -> new Buckets(bucket(read, now), bucket(write, now)));
+    }
+    return (kind == Kind.READ ? pair.read : pair.write).tryAcquire(now);
+  }
+
+  public int size() {
+    return buckets.size();
+  }
+
+  private void sweepIfDue(long now) {
+    long due = nextSweep.get();
+    if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+      return;
+    }
+    buckets.values().removeIf(pair -> pair.read.isFull(now) && pair.write.isFull(now));
+  }
+
+  private static TokenBucket bucket(Budget budget, long now) {
+    return new TokenBucket(budget.capacity(), budget.period().toNanos() / budget.capacity(), now);
+  }
+
+  private record Buckets(TokenBucket read, TokenBucket write) {
+  }
+}
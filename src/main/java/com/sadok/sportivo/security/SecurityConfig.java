@@ -1,10 +1,7 @@
 package com.sadok.sportivo.security;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,53 +9,57 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.sadok.sportivo.common.logging.RequestLoggingContextFilter;
+import com.sadok.sportivo.users.activity.LastSeenFilter;
+import com.sadok.sportivo.users.activity.LastSeenTracker;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http,
+      RateLimitProperties rateLimitProperties,
+      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+      MeterRegistry meterRegistry,
+      LastSeenTracker lastSeenTracker) throws Exception {
     http
         .csrf(csrf -> csrf.disable())
         .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+            .requestMatchers("/actuator/**").hasRole("admin")
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             .anyRequest().authenticated())
         .oauth2ResourceServer(oauth2 -> oauth2
-            .jwt(jwt -> jwt.jwtAuthenticationConverter(keycloakJwtAuthenticationConverter())));
+            .jwt(jwt -> jwt.jwtAuthenticationConverter(sportivoJwtAuthenticationConverter())))
+        .addFilterAfter(new RequestLoggingContextFilter(), BearerTokenAuthenticationFilter.class)
+        .addFilterAfter(new LastSeenFilter(lastSeenTracker), RequestLoggingContextFilter.class);
+
+    if (rateLimitProperties.enabled()) {
+      http.addFilterAfter(
+          new RateLimitFilter(new RateLimiter(rateLimitProperties), exceptionResolver, meterRegistry),
+          RequestLoggingContextFilter.class);
+    }
 
     return http.build();
   }
 
   /**
-   * Extracts {@code realm_access.roles} from the Keycloak JWT and maps them to
-   * Spring Security {@link GrantedAuthority} objects (prefixed with
-   * {@code ROLE_}).
+   * Builds the request's {@link SportivoPrincipal} (user id, roles, locale)
+   * once from the Keycloak JWT; see {@link SportivoJwtAuthenticationConverter}.
    */
   @Bean
-  public JwtAuthenticationConverter keycloakJwtAuthenticationConverter() {
-    JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-    converter.setJwtGrantedAuthoritiesConverter(SecurityConfig::extractRealmRoles);
-    return converter;
-  }
-
-  @SuppressWarnings("unchecked")
-  private static Collection<GrantedAuthority> extractRealmRoles(Jwt jwt) {
-    Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
-    if (realmAccess == null) {
-      return List.of();
-    }
-    List<String> roles = (List<String>) realmAccess.getOrDefault("roles", List.of());
-    return roles.stream()
-        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-        .collect(Collectors.toList());
+  public SportivoJwtAuthenticationConverter sportivoJwtAuthenticationConverter() {
+    return new SportivoJwtAuthenticationConverter();
   }
 }
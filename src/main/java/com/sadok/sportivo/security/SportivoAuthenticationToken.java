@@ -0,0 +1,36 @@
+package com.sadok.sportivo.security;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+/**
+ * Bearer token authentication whose principal is a {@link SportivoPrincipal}
+ * rather than the raw {@link Jwt}. The token stays available as credentials.
+ */
+public class SportivoAuthenticationToken extends AbstractOAuth2TokenAuthenticationToken<Jwt> {
+
+  public SportivoAuthenticationToken(Jwt jwt, SportivoPrincipal principal,
+      Collection<? extends GrantedAuthority> authorities) {
+    super(jwt, principal, jwt, authorities);
+    setAuthenticated(true);
+  }
+
+  @Override
+  public SportivoPrincipal getPrincipal() {
+    return (SportivoPrincipal) super.getPrincipal();
+  }
+
+  @Override
+  public Map<String, Object> getTokenAttributes() {
+    return getToken().getClaims();
+  }
+
+  @Override
+  public String getName() {
+    return getPrincipal().getName();
+  }
+}
@@ -0,0 +1,73 @@
+package com.sadok.sportivo.security;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import com.sadok.sportivo.users.UserRole;
+
+/**
+ * Turns a validated Keycloak JWT into a {@link SportivoAuthenticationToken}.
+ *
+ * <p>
+ * {@code realm_access.roles} become {@code ROLE_}-prefixed authorities (all of
+ * them, so {@code hasRole('admin')} keeps working) and, where they name a
+ * {@link UserRole}, entries of the principal's role set. A subject that is
+ * not a UUID cannot belong to a local user and is rejected as an invalid
+ * token.
+ * </p>
+ */
+public class SportivoJwtAuthenticationConverter implements Converter<Jwt, SportivoAuthenticationToken> {
+
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  @Override
+  public SportivoAuthenticationToken convert(Jwt jwt) {
+    List<String> realmRoles = realmRoles(jwt);
+    List<GrantedAuthority> authorities = new ArrayList<>(realmRoles.size());
+    Set<UserRole> roles = EnumSet.noneOf(UserRole.class);
+    for (String role : realmRoles) {
+      authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+      for (UserRole userRole : UserRole.values()) {
+        if (userRole.name().equalsIgnoreCase(role)) {
+          roles.add(userRole);
+        }
+      }
+    }
+    SportivoPrincipal principal = new SportivoPrincipal(
+        userId(jwt), jwt.getClaimAsString("preferred_username"), roles, locale(jwt));
+    return new SportivoAuthenticationToken(jwt, principal, authorities);
+  }
+
+  private static UUID userId(Jwt jwt) {
+    try {
+      return UUID.fromString(jwt.getSubject());
+    } catch (IllegalArgumentException | NullPointerException ex) {
+      throw new InvalidBearerTokenException("Token subject is not a user id");
+    }
+  }
+
+  private static Locale locale(Jwt jwt) {
+    String locale = jwt.getClaimAsString("locale");
+    return locale == null || locale.isBlank() ? null : Locale.forLanguageTag(locale);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> realmRoles(Jwt jwt) {
+    Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+    if (realmAccess == null) {
+      return List.of();
+    }
+    return (List<String>) realmAccess.getOrDefault("roles", List.of());
+  }
+}
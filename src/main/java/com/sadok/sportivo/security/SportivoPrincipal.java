@@ -0,0 +1,51 @@
+package com.sadok.sportivo.security;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.sadok.sportivo.users.UserRole;
+
+/**
+ * The authenticated caller, built once per request by
+ * {@link SportivoJwtAuthenticationConverter}. Inject it with
+ * {@code @AuthenticationPrincipal SportivoPrincipal} instead of re-reading
+ * the JWT.
+ *
+ * @param userId   Keycloak subject, which is also the local user id
+ * @param username {@code preferred_username}
+ * @param roles    realm roles that map to a {@link UserRole}
+ * @param locale   the token's {@code locale} claim, {@code null} if absent
+ */
+public record SportivoPrincipal(UUID userId, String username, Set<UserRole> roles, Locale locale)
+    implements AuthenticatedPrincipal {
+
+  public SportivoPrincipal {
+    roles = Collections.unmodifiableSet(roles.isEmpty() ? EnumSet.noneOf(UserRole.class) : EnumSet.copyOf(roles));
+  }
+
+  public boolean hasRole(UserRole role) {
+    return roles.contains(role);
+  }
+
+  @Override
+  public String getName() {
+    return userId.toString();
+  }
+
+  /** The principal of the current thread's authentication, if any. */
+  public static Optional<SportivoPrincipal> current() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof SportivoPrincipal principal) {
+      return Optional.of(principal);
+    }
+    return Optional.empty();
+  }
+}
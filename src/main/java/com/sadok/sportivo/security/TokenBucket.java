@@ -0,0 +1,54 @@
+package com.sadok.sportivo.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding at most {@code capacity} tokens and
+ * refilling one token every {@code emissionIntervalNanos}.
+ *
+ * <p>
+ * Implemented as GCRA: instead of a token count and a refill timestamp the
+ * bucket keeps a single "theoretical arrival time" ({@code tat}), the instant
+ * at which it would be full again. Taking a token moves {@code tat} forward
+ * by one interval; a request is refused when that would put {@code tat} more
+ * than {@code capacity} intervals ahead of now. One {@link AtomicLong} and a
+ * CAS per request, no allocation, no refill thread.
+ * </p>
+ */
+final class TokenBucket {
+
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final AtomicLong tat;
+
+  TokenBucket(int capacity, long emissionIntervalNanos, long nowNanos) {
+    this.emissionIntervalNanos = emissionIntervalNanos;
+    this.burstNanos = capacity * emissionIntervalNanos;
+    this.tat = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes one token.
+   *
+   * @return {@code 0} when the token was granted, otherwise how many
+   *         nanoseconds to wait until one will be available
+   */
+  long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = tat.get();
+      long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+      long waitNanos = next - nowNanos - burstNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (tat.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /** A full bucket behaves exactly like a new one and can be dropped. */
+  boolean isFull(long nowNanos) {
+    return tat.get() - nowNanos <= 0;
+  }
+}
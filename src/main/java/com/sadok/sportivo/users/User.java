@@ -1,7 +1,10 @@
 package com.sadok.sportivo.users;
 
+import java.time.Instant;
 import java.util.UUID;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import com.sadok.sportivo.common.entity.BaseEntity;
 
 import jakarta.persistence.Column;
@@ -10,7 +13,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,10 +21,11 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "users")
+// Soft-deleted rows await UserPurger and are invisible to every JPA query
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class User extends BaseEntity {
 
   @Id
@@ -43,4 +47,18 @@ public class User extends BaseEntity {
   @Enumerated(EnumType.STRING)
   @Column(nullable = false, length = 20)
   private UserRole role;
+
+  /** Maintained only by {@code LastSeenTracker}'s batched flush; never written through JPA. */
+  @Setter(AccessLevel.NONE)
+  @Column(name = "last_seen_at", insertable = false, updatable = false)
+  private Instant lastSeenAt;
+
+  public User(UUID id, String username, String email, String firstName, String lastName, UserRole role) {
+    this.id = id;
+    this.username = username;
+    this.email = email;
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.role = role;
+  }
 }
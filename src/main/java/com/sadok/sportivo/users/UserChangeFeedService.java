@@ -0,0 +1,97 @@
+package com.sadok.sportivo.users;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.sadok.sportivo.users.audit.UserAuditEntry;
+import com.sadok.sportivo.users.audit.UserAuditMapper;
+import com.sadok.sportivo.users.audit.UserAuditRepository;
+import com.sadok.sportivo.users.audit.UserChangeNotifier;
+import com.sadok.sportivo.users.dto.UserChangeResponse;
+import com.sadok.sportivo.users.dto.UserChangesResponse;
+import com.sadok.sportivo.users.dto.UserResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the incremental change feed. The cursor is the {@code user_audit}
+ * id. Audit rows are written to an outbox in the same transaction as the
+ * change and relayed under a database lock, so ids only grow in commit order,
+ * even with several instances, and a consumer that keeps passing
+ * {@code nextCursor} sees every committed change, in order, with O(changes)
+ * work per poll. Changes show up once relayed, usually within
+ * {@code app.users.audit.flush-interval}.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserChangeFeedService {
+
+  public static final int DEFAULT_LIMIT = 100;
+  public static final int MAX_LIMIT = 500;
+  public static final Duration MAX_WAIT = Duration.ofSeconds(30);
+
+  private final UserAuditRepository userAuditRepository;
+  private final UserRepository userRepository;
+  private final UserAuditMapper userAuditMapper;
+  private final UserMapper userMapper;
+  private final UserChangeNotifier changeNotifier;
+
+  /**
+   * Returns the changes after {@code cursor}. If there are none and
+   * {@code wait} is positive, blocks until the audit writer commits new
+   * entries or {@code wait} (capped at {@link #MAX_WAIT}) elapses; callers
+   * are expected to run this on a virtual thread.
+   */
+  public UserChangesResponse getChanges(long cursor, int limit, Duration wait) throws InterruptedException {
+    long after = Math.max(cursor, 0);
+    int size = Math.clamp(limit, 1, MAX_LIMIT);
+    long deadline = System.nanoTime() + clampWait(wait).toNanos();
+    while (true) {
+      long generation = changeNotifier.generation();
+      UserChangesResponse page = read(after, size);
+      long remaining = deadline - System.nanoTime();
+      if (!page.changes().isEmpty() || remaining <= 0
+          || !changeNotifier.awaitChange(generation, Duration.ofNanos(remaining))) {
+        return page;
+      }
+    }
+  }
+
+  private UserChangesResponse read(long cursor, int limit) {
+    List<UserAuditEntry> entries = userAuditRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit + 1));
+    boolean hasMore = entries.size() > limit;
+    if (hasMore) {
+      entries = entries.subList(0, limit);
+    }
+    if (entries.isEmpty()) {
+      return new UserChangesResponse(List.of(), cursor, false);
+    }
+    Map<UUID, UserResponse> current = userRepository
+        .findAllById(entries.stream().map(UserAuditEntry::getUserId).distinct().toList())
+        .stream()
+        .collect(Collectors.toMap(User::getId, userMapper::toResponse));
+    List<UserChangeResponse> changes = entries.stream()
+        .map(entry -> new UserChangeResponse(
+            entry.getId(),
+            entry.getUserId(),
+            entry.getAction(),
+            userAuditMapper.toFields(entry.getChangedFields()),
+            entry.getChangedAt(),
+            current.get(entry.getUserId())))
+        .toList();
+    return new UserChangesResponse(changes, entries.getLast().getId(), hasMore);
+  }
+
+  private static Duration clampWait(Duration wait) {
+    if (wait == null || wait.isNegative()) {
+      return Duration.ZERO;
+    }
+    return wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+  }
+}
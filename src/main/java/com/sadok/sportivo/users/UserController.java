@@ -1,13 +1,19 @@
 package com.sadok.sportivo.users;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,14 +21,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.sadok.sportivo.security.SportivoPrincipal;
+import com.sadok.sportivo.users.audit.UserAuditService;
+import com.sadok.sportivo.users.availability.UserAvailabilityService;
 import com.sadok.sportivo.users.dto.CreateUserRequest;
 import com.sadok.sportivo.users.dto.UpdateCredentialsRequest;
 import com.sadok.sportivo.users.dto.UpdateUserRequest;
+import com.sadok.sportivo.users.dto.UserAuditResponse;
+import com.sadok.sportivo.users.dto.UserAvailabilityResponse;
+import com.sadok.sportivo.users.dto.UserChangesResponse;
+import com.sadok.sportivo.users.dto.UserLookupRequest;
+import com.sadok.sportivo.users.dto.UserLookupResponse;
 import com.sadok.sportivo.users.dto.UserResponse;
+import com.sadok.sportivo.users.stream.UserStreamBroadcaster;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +51,10 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
   private final UserService userService;
+  private final UserAuditService userAuditService;
+  private final UserChangeFeedService userChangeFeedService;
+  private final UserStreamBroadcaster userStreamBroadcaster;
+  private final UserAvailabilityService userAvailabilityService;
 
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
@@ -47,12 +69,79 @@ public class UserController {
     return userService.getAllUsers();
   }
 
+  /** GET /api/v1/users?fields=firstName,lastName — sparse list, id always included */
+  @GetMapping(params = "fields")
+  @PreAuthorize("hasRole('admin')")
+  public List<Map<String, Object>> getAllUsers(@RequestParam String fields) {
+    return userService.getAllUsers(UserFields.parse(fields));
+  }
+
+  /** POST /api/v1/users/lookup — admin resolves up to 500 ids in one query */
+  @PostMapping("/lookup")
+  @PreAuthorize("hasRole('admin')")
+  public UserLookupResponse<UserResponse> lookupUsers(@Valid @RequestBody UserLookupRequest request) {
+    return userService.lookupUsers(request.ids());
+  }
+
+  @PostMapping(path = "/lookup", params = "fields")
+  @PreAuthorize("hasRole('admin')")
+  public UserLookupResponse<Map<String, Object>> lookupUsers(
+      @Valid @RequestBody UserLookupRequest request,
+      @RequestParam String fields) {
+    return userService.lookupUsers(request.ids(), UserFields.parse(fields));
+  }
+
+  /**
+   * GET /api/v1/users/changes?cursor=0&limit=100&wait=25 — changes after the
+   * cursor; with {@code wait} (seconds), parks on a virtual thread until one
+   * arrives
+   */
+  @GetMapping("/changes")
+  @PreAuthorize("hasRole('admin')")
+  public Callable<UserChangesResponse> getChanges(
+      @RequestParam(defaultValue = "0") long cursor,
+      @RequestParam(defaultValue = "" + UserChangeFeedService.DEFAULT_LIMIT) int limit,
+      @RequestParam(defaultValue = "0") long wait) {
+    return () -> userChangeFeedService.getChanges(cursor, limit, Duration.ofSeconds(wait));
+  }
+
+  /** GET /api/v1/users/availability?username=alice&email=a@x.io — form checks, no query for free values */
+  @GetMapping("/availability")
+  @PreAuthorize("hasAnyRole('user', 'admin')")
+  public UserAvailabilityResponse checkAvailability(
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String email) {
+    return userAvailabilityService.check(username, email);
+  }
+
+  /** GET /api/v1/users/stream — server-sent user changes for admin dashboards */
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("hasRole('admin')")
+  public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+    return userStreamBroadcaster.subscribe(lastEventId);
+  }
+
   @GetMapping("/{id}")
   @PreAuthorize("hasRole('admin')")
   public UserResponse getUserById(@PathVariable UUID id) {
     return userService.getUserById(id);
   }
 
+  @GetMapping(path = "/{id}", params = "fields")
+  @PreAuthorize("hasRole('admin')")
+  public Map<String, Object> getUserById(@PathVariable UUID id, @RequestParam String fields) {
+    return userService.getUserById(id, UserFields.parse(fields));
+  }
+
+  /** GET /api/v1/users/{id}/history — admin reads a user's change history */
+  @GetMapping("/{id}/history")
+  @PreAuthorize("hasRole('admin')")
+  public PagedModel<UserAuditResponse> getHistory(
+      @PathVariable UUID id,
+      @PageableDefault(size = 20) Pageable pageable) {
+    return userAuditService.getHistory(id, pageable);
+  }
+
   @PutMapping("/{id}")
   @PreAuthorize("hasRole('admin')")
   public UserResponse updateUserByAdmin(
@@ -83,18 +172,16 @@ public class UserController {
   /** GET /api/v1/users/me — authenticated user reads own profile */
   @GetMapping("/me")
   @PreAuthorize("hasAnyRole('user', 'admin')")
-  public UserResponse getMe(@AuthenticationPrincipal Jwt jwt) {
-    UUID id = UUID.fromString(jwt.getSubject());
-    return userService.getUserById(id);
+  public UserResponse getMe(@AuthenticationPrincipal SportivoPrincipal principal) {
+    return userService.getUserById(principal.userId());
   }
 
   /** PUT /api/v1/users/me — authenticated user updates own profile */
   @PutMapping("/me")
   @PreAuthorize("hasAnyRole('user', 'admin')")
   public UserResponse updateMe(
-      @AuthenticationPrincipal Jwt jwt,
+      @AuthenticationPrincipal SportivoPrincipal principal,
       @Valid @RequestBody UpdateUserRequest request) {
-    UUID id = UUID.fromString(jwt.getSubject());
-    return userService.updateUser(id, request);
+    return userService.updateUser(principal.userId(), request);
   }
 }
@@ -0,0 +1,66 @@
+package com.sadok.sportivo.users;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.sadok.sportivo.common.exception.InvalidFieldsException;
+import com.sadok.sportivo.users.dto.UserResponse;
+
+/**
+ * A sparse fieldset parsed from {@code ?fields=id,firstName,lastName}.
+ *
+ * <p>
+ * The whitelist is the component list of {@link UserResponse}, so the API
+ * can never select more than it exposes anyway; each name is also a
+ * {@link User} attribute, which is what lets the repository narrow the SQL
+ * projection to the same columns. {@code id} is always included. Names keep
+ * the {@link UserResponse} order regardless of how they were requested.
+ * </p>
+ */
+public final class UserFields {
+
+  public static final Set<String> ALLOWED = Collections.unmodifiableSet(Arrays
+      .stream(UserResponse.class.getRecordComponents())
+      .map(RecordComponent::getName)
+      .collect(LinkedHashSet::new, Set::add, Set::addAll));
+
+  private static final String ID = "id";
+
+  private final List<String> names;
+
+  private UserFields(List<String> names) {
+    this.names = names;
+  }
+
+  /** @throws InvalidFieldsException if any name is not a {@link UserResponse} component */
+  public static UserFields parse(String fields) {
+    Set<String> requested = new LinkedHashSet<>();
+    for (String field : fields.split(",")) {
+      if (!field.isBlank()) {
+        requested.add(field.trim());
+      }
+    }
+    Set<String> unknown = new LinkedHashSet<>(requested);
+    unknown.removeAll(ALLOWED);
+    if (!unknown.isEmpty()) {
+      throw new InvalidFieldsException(unknown, ALLOWED);
+    }
+    requested.add(ID);
+    List<String> names = new ArrayList<>(requested.size());
+    for (String allowed : ALLOWED) {
+      if (requested.contains(allowed)) {
+        names.add(allowed);
+      }
+    }
+    return new UserFields(List.copyOf(names));
+  }
+
+  public List<String> names() {
+    return names;
+  }
+}
@@ -0,0 +1,16 @@
+package com.sadok.sportivo.users;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** Sparse reads that fetch only the columns of a {@link UserFields} selection. */
+public interface UserProjectionRepository {
+
+  /** All live users, newest first. */
+  List<Map<String, Object>> findAllProjected(UserFields fields);
+
+  /** Live users among {@code ids}, in no particular order. */
+  List<Map<String, Object>> findAllByIdProjected(Collection<UUID> ids, UserFields fields);
+}
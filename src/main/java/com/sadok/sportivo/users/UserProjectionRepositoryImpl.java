@@ -0,0 +1,65 @@
+package com.sadok.sportivo.users;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Criteria tuple queries selecting only the requested attributes. The
+ * entity's {@code @SQLRestriction} still applies, so deleted users stay
+ * hidden.
+ */
+class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Map<String, Object>> findAllProjected(UserFields fields) {
+    return query(fields, (cb, query) -> {
+      Root<?> root = query.getRoots().iterator().next();
+      query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+    });
+  }
+
+  @Override
+  public List<Map<String, Object>> findAllByIdProjected(Collection<UUID> ids, UserFields fields) {
+    return query(fields, (cb, query) -> query.where(query.getRoots().iterator().next().get("id").in(ids)));
+  }
+
+  private List<Map<String, Object>> query(UserFields fields,
+      BiConsumer<CriteriaBuilder, CriteriaQuery<Tuple>> restriction) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<User> root = query.from(User.class);
+    List<Selection<?>> selections = new ArrayList<>(fields.names().size());
+    for (String name : fields.names()) {
+      selections.add(root.get(name).alias(name));
+    }
+    query.multiselect(selections);
+    restriction.accept(cb, query);
+
+    List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+    List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (String name : fields.names()) {
+        row.put(name, tuple.get(name));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+}
@@ -1,15 +1,81 @@
 package com.sadok.sportivo.users;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserProjectionRepository {
 
-  boolean existsByUsername(String username);
+  /**
+   * Native, so soft-deleted rows count too (the entity's
+   * {@code @SQLRestriction} would hide them): their identity still owns the
+   * name until purged.
+   */
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE username = :username)", nativeQuery = true)
+  boolean isUsernameTaken(@Param("username") String username);
 
-  boolean existsByEmail(String email);
+  /** Like {@link #isUsernameTaken}, for the email. */
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = :email)", nativeQuery = true)
+  boolean isEmailTaken(@Param("email") String email);
+
+  @Query(value = "SELECT COUNT(*) FROM users", nativeQuery = true)
+  long countIncludingDeleted();
 
   Optional<User> findByUsername(String username);
+
+  // -------------------------------------------------------------------------
+  // Soft delete and purge. Native SQL, since @SQLRestriction hides deleted
+  // rows from JPA queries.
+  // -------------------------------------------------------------------------
+
+  /** @return 1 if a live user was marked deleted, 0 if none matched */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE users SET deleted_at = :now, purge_attempts = 0, purge_next_attempt_at = :now
+      WHERE id = :id AND deleted_at IS NULL""", nativeQuery = true)
+  int softDelete(@Param("id") UUID id, @Param("now") Instant now);
+
+  /** A soft-deleted user waiting for its Keycloak identity to be removed. */
+  interface PurgeCandidate {
+
+    /** The id as text; H2 returns UUID columns of native queries as raw bytes. */
+    String getUserId();
+
+    int getPurgeAttempts();
+
+    default UUID getId() {
+      return UUID.fromString(getUserId());
+    }
+  }
+
+  @Query(value = """
+      SELECT CAST(id AS VARCHAR(36)) AS userId, purge_attempts AS purgeAttempts FROM users
+      WHERE deleted_at IS NOT NULL AND purge_next_attempt_at <= :now
+      ORDER BY purge_next_attempt_at
+      LIMIT :limit""", nativeQuery = true)
+  List<PurgeCandidate> findDuePurges(@Param("now") Instant now, @Param("limit") int limit);
+
+  @Query(value = "SELECT COUNT(*) FROM users WHERE deleted_at IS NOT NULL", nativeQuery = true)
+  long countPendingPurges();
+
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE users SET purge_attempts = purge_attempts + 1, purge_next_attempt_at = :nextAttemptAt
+      WHERE id = :id AND deleted_at IS NOT NULL""", nativeQuery = true)
+  int deferPurge(@Param("id") UUID id, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM users WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+  int hardDelete(@Param("ids") Collection<UUID> ids);
 }
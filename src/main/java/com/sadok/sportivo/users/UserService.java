@@ -1,12 +1,27 @@
 package com.sadok.sportivo.users;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.sadok.sportivo.common.MessageService;
+import com.sadok.sportivo.common.concurrent.SingleFlight;
+import com.sadok.sportivo.common.exception.KeycloakException;
 import com.sadok.sportivo.common.exception.ResourceAlreadyExistsException;
 import com.sadok.sportivo.common.exception.ResourceNotFoundException;
 import com.sadok.sportivo.keycloak.KeycloakAdminService;
@@ -14,7 +29,12 @@ import com.sadok.sportivo.keycloak.KeycloakAdminService.UserCreationResult;
 import com.sadok.sportivo.users.dto.CreateUserRequest;
 import com.sadok.sportivo.users.dto.UpdateCredentialsRequest;
 import com.sadok.sportivo.users.dto.UpdateUserRequest;
+import com.sadok.sportivo.users.dto.UserLookupResponse;
 import com.sadok.sportivo.users.dto.UserResponse;
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,12 +44,30 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserService {
 
+  private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
   private final UserRepository userRepository;
   private final KeycloakAdminService keycloakAdminService;
   private final UserMapper userMapper;
   private final MessageService messages;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AuditorAware<UUID> auditorAware;
+  private final SingleFlight<UUID, UserResponse> userLoads;
+  private final TransactionOperations transactionOperations;
 
-  @Transactional
+  /**
+   * Creates the user as a saga so no database connection is held while
+   * Keycloak is being called:
+   * <ol>
+   * <li>uniqueness check (short read-only queries)</li>
+   * <li>create the identity in Keycloak (no transaction)</li>
+   * <li>persist the local row (short local transaction)</li>
+   * <li>on failure of step 3, compensate by deleting the Keycloak user</li>
+   * </ol>
+   * A {@link UserCreatedEvent} is published inside the step 3 transaction,
+   * so its audit entry commits with the row; other listeners receive it
+   * asynchronously via {@code UserEventDispatcher}.
+   */
   public UserResponse createUser(CreateUserRequest request) {
     validateUniqueness(request.username(), request.email());
     UserCreationResult result = keycloakAdminService.createUser(request);
@@ -43,17 +81,31 @@ public class UserService {
           request.lastName(),
           request.role());
 
-      User saved = userRepository.save(user);
+      User saved = transactionOperations.execute(status -> {
+        User persisted = userRepository.save(user);
+        eventPublisher.publishEvent(new UserCreatedEvent(
+            persisted.getId(),
+            persisted.getUsername(),
+            persisted.getEmail(),
+            persisted.getFirstName(),
+            persisted.getLastName(),
+            persisted.getRole(),
+            currentActor(),
+            Instant.now()));
+        return persisted;
+      });
       log.info("User created locally [id={}, username={}]", saved.getId(), saved.getUsername());
 
-      // mailService.sendWelcomeEmail(request.email(), request.username(),
-      // result.generatedPassword());
-
       return userMapper.toResponse(saved);
 
     } catch (Exception ex) {
       log.error("Local persistence failed for user [keycloakId={}]; rolling back Keycloak user", keycloakId, ex);
-      keycloakAdminService.deleteUser(keycloakId);
+      try {
+        keycloakAdminService.deleteUser(keycloakId);
+      } catch (KeycloakException compensationFailure) {
+        log.error("Compensation failed, Keycloak user [id={}] is orphaned", keycloakId, compensationFailure);
+        ex.addSuppressed(compensationFailure);
+      }
       throw ex;
     }
   }
@@ -62,21 +114,60 @@ public class UserService {
   // Read
   // -------------------------------------------------------------------------
 
-  /** Admin-only: list all users. */
+  /** Admin-only: list all users, newest first. */
   @Transactional(readOnly = true)
   public List<UserResponse> getAllUsers() {
-    return userRepository.findAll().stream()
+    return userRepository.findAll(NEWEST_FIRST).stream()
         .map(userMapper::toResponse)
         .toList();
   }
 
   /**
    * Returns the user with the given ID (admin can read any, user can only read
-   * own).
+   * own). Concurrent calls for the same ID share one query; the repository
+   * call runs in its own read transaction, so none is opened here.
    */
-  @Transactional(readOnly = true)
   public UserResponse getUserById(UUID id) {
-    return userMapper.toResponse(findByIdOrThrow(id));
+    return userLoads.execute(id, () -> userMapper.toResponse(findByIdOrThrow(id)));
+  }
+
+  /**
+   * Resolves many IDs with a single {@code IN} query. Results follow the
+   * request order, duplicates are answered once and unknown or deleted IDs
+   * are reported as missing.
+   */
+  @Transactional(readOnly = true)
+  public UserLookupResponse<UserResponse> lookupUsers(List<UUID> ids) {
+    LinkedHashSet<UUID> unique = new LinkedHashSet<>(ids);
+    Map<UUID, UserResponse> found = userRepository.findAllById(unique).stream()
+        .collect(Collectors.toMap(User::getId, userMapper::toResponse));
+    return inRequestOrder(unique, found);
+  }
+
+  // -------------------------------------------------------------------------
+  // Sparse reads (?fields=): only the selected columns are fetched
+  // -------------------------------------------------------------------------
+
+  @Transactional(readOnly = true)
+  public List<Map<String, Object>> getAllUsers(UserFields fields) {
+    return userRepository.findAllProjected(fields);
+  }
+
+  @Transactional(readOnly = true)
+  public Map<String, Object> getUserById(UUID id, UserFields fields) {
+    List<Map<String, Object>> rows = userRepository.findAllByIdProjected(List.of(id), fields);
+    if (rows.isEmpty()) {
+      throw new ResourceNotFoundException(messages.get("error.user.notFound", id));
+    }
+    return rows.getFirst();
+  }
+
+  @Transactional(readOnly = true)
+  public UserLookupResponse<Map<String, Object>> lookupUsers(List<UUID> ids, UserFields fields) {
+    LinkedHashSet<UUID> unique = new LinkedHashSet<>(ids);
+    Map<UUID, Map<String, Object>> found = userRepository.findAllByIdProjected(unique, fields).stream()
+        .collect(Collectors.toMap(row -> (UUID) row.get("id"), Function.identity()));
+    return inRequestOrder(unique, found);
   }
 
   // -------------------------------------------------------------------------
@@ -86,17 +177,30 @@ public class UserService {
   /**
    * Updates the user's profile in both Keycloak and locally.
    * Only non-null fields in the request are applied (partial update / PATCH
-   * semantics).
+   * semantics). A {@link UserUpdatedEvent} is delivered after commit when at
+   * least one field actually changed.
    */
   @Transactional
   public UserResponse updateUser(UUID id, UpdateUserRequest request) {
     User user = findByIdOrThrow(id);
+    Set<UserField> changed = changedFields(user, request);
 
     keycloakAdminService.updateUser(id, request.email(), request.firstName(), request.lastName());
     userMapper.updateUserFromRequest(request, user);
 
     User saved = userRepository.save(user);
     log.info("User updated [id={}]", saved.getId());
+
+    if (!changed.isEmpty()) {
+      eventPublisher.publishEvent(new UserUpdatedEvent(
+          saved.getId(),
+          changed,
+          changed.contains(UserField.EMAIL) ? request.email() : null,
+          changed.contains(UserField.FIRST_NAME) ? request.firstName() : null,
+          changed.contains(UserField.LAST_NAME) ? request.lastName() : null,
+          currentActor(),
+          Instant.now()));
+    }
     return userMapper.toResponse(saved);
   }
 
@@ -116,13 +220,18 @@ public class UserService {
   // Delete
   // -------------------------------------------------------------------------
 
-  /** Admin-only: deletes the user from local DB and Keycloak. */
+  /**
+   * Admin-only: soft-deletes the user. The row disappears from every read
+   * immediately; {@code UserPurger} removes the Keycloak identity and then
+   * the row in the background, so the request never waits for Keycloak.
+   */
   @Transactional
   public void deleteUser(UUID id) {
-    User user = findByIdOrThrow(id);
-    userRepository.delete(user);
-    keycloakAdminService.deleteUser(id);
-    log.info("User deleted [id={}]", id);
+    if (userRepository.softDelete(id, Instant.now()) == 0) {
+      throw new ResourceNotFoundException(messages.get("error.user.notFound", id));
+    }
+    log.info("User deleted [id={}], Keycloak purge pending", id);
+    eventPublisher.publishEvent(new UserDeletedEvent(id, currentActor(), Instant.now()));
   }
 
   // -------------------------------------------------------------------------
@@ -134,11 +243,48 @@ public class UserService {
         .orElseThrow(() -> new ResourceNotFoundException(messages.get("error.user.notFound", id)));
   }
 
+  private static <T> UserLookupResponse<T> inRequestOrder(Set<UUID> ids, Map<UUID, T> found) {
+    List<T> users = new ArrayList<>(found.size());
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : ids) {
+      T user = found.get(id);
+      if (user != null) {
+        users.add(user);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new UserLookupResponse<>(users, missing);
+  }
+
+  private UUID currentActor() {
+    return auditorAware.getCurrentAuditor().orElse(null);
+  }
+
+  private static Set<UserField> changedFields(User user, UpdateUserRequest request) {
+    Set<UserField> changed = EnumSet.noneOf(UserField.class);
+    if (request.email() != null && !Objects.equals(request.email(), user.getEmail())) {
+      changed.add(UserField.EMAIL);
+    }
+    if (request.firstName() != null && !Objects.equals(request.firstName(), user.getFirstName())) {
+      changed.add(UserField.FIRST_NAME);
+    }
+    if (request.lastName() != null && !Objects.equals(request.lastName(), user.getLastName())) {
+      changed.add(UserField.LAST_NAME);
+    }
+    return changed;
+  }
+
+  /**
+   * Soft-deleted users count: until {@code UserPurger} removes them their
+   * Keycloak identity still owns the username and email, so letting them
+   * through would fail later in Keycloak (409) or on the unique constraint.
+   */
   private void validateUniqueness(String username, String email) {
-    if (userRepository.existsByUsername(username)) {
+    if (userRepository.isUsernameTaken(username)) {
       throw new ResourceAlreadyExistsException(messages.get("error.username.taken", username));
     }
-    if (userRepository.existsByEmail(email)) {
+    if (userRepository.isEmailTaken(email)) {
       throw new ResourceAlreadyExistsException(messages.get("error.email.registered", email));
     }
   }
@@ -0,0 +1,33 @@
+package com.sadok.sportivo.users.activity;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sadok.sportivo.security.SportivoPrincipal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the authenticated user's activity with {@link LastSeenTracker}.
+ * Registered in the security filter chain after authentication; anonymous
+ * requests are ignored.
+ */
+public class LastSeenFilter extends OncePerRequestFilter {
+
+  private final LastSeenTracker tracker;
+
+  public LastSeenFilter(LastSeenTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    SportivoPrincipal.current().ifPresent(principal -> tracker.record(principal.userId()));
+    chain.doFilter(request, response);
+  }
+}
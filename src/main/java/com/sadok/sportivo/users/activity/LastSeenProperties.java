@@ -0,0 +1,21 @@
+package com.sadok.sportivo.users.activity;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled       whether activity is recorded at all
+ * @param flushInterval delay between flushes to {@code users.last_seen_at}
+ * @param resolution    activity closer than this to the pending timestamp is
+ *                      not recorded again, keeping the hot path read-only
+ * @param batchSize     rows per {@code UPDATE} statement
+ */
+@ConfigurationProperties(prefix = "app.users.last-seen")
+public record LastSeenProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5s") Duration flushInterval,
+    @DefaultValue("1s") Duration resolution,
+    @DefaultValue("1000") int batchSize) {
+}
@@ -0,0 +1,159 @@
+package com.sadok.sportivo.users.activity;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sadok.sportivo.common.jdbc.DatabaseVendor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces user activity into {@code users.last_seen_at}.
+ *
+ * <p>
+ * {@link #record} keeps only the latest timestamp per user in a
+ * {@link ConcurrentHashMap}; when the pending value is younger than
+ * {@code resolution} it is a single lock-free read. Every
+ * {@code flushInterval} the pending entries are written as one
+ * {@code UPDATE ... FROM (VALUES ...)} per {@code batchSize} users on
+ * PostgreSQL, or as a JDBC batch elsewhere, so database writes follow the
+ * number of active users per interval rather than the request rate. An entry
+ * is removed only if it was not refreshed during the flush, and a failed
+ * flush puts its entries back. The column never moves backwards.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LastSeenProperties.class)
+public class LastSeenTracker {
+
+  private static final String POSTGRES_UPDATE_PREFIX = """
+      UPDATE users AS u SET last_seen_at = v.seen
+      FROM (VALUES %s) AS v(id, seen)
+      WHERE u.id = v.id AND (u.last_seen_at IS NULL OR u.last_seen_at < v.seen)""";
+
+  private static final String BATCH_UPDATE_SQL = """
+      UPDATE users SET last_seen_at = ?
+      WHERE id = ? AND (last_seen_at IS NULL OR last_seen_at < ?)""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabaseVendor databaseVendor;
+  private final LastSeenProperties properties;
+  private final long resolutionMillis;
+  private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+  private final DistributionSummary flushSize;
+  private final Timer flushTimer;
+
+  public LastSeenTracker(JdbcTemplate jdbcTemplate, DatabaseVendor databaseVendor, LastSeenProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databaseVendor = databaseVendor;
+    this.properties = properties;
+    this.resolutionMillis = properties.resolution().toMillis();
+    Gauge.builder("sportivo.users.last-seen.pending", pending, Map::size)
+        .description("Users with activity not yet written to last_seen_at")
+        .register(meterRegistry);
+    this.flushSize = DistributionSummary.builder("sportivo.users.last-seen.flush.size")
+        .description("Users written per last-seen flush")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("sportivo.users.last-seen.flush")
+        .description("Time spent writing one last-seen flush")
+        .register(meterRegistry);
+  }
+
+  /** Notes that {@code userId} is active now; called on every authenticated request. */
+  public void record(UUID userId) {
+    if (!properties.enabled()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    Long seen = pending.get(userId);
+    if (seen != null && now - seen < resolutionMillis) {
+      return;
+    }
+    pending.merge(userId, now, Math::max);
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.last-seen.flush-interval:5s}",
+      initialDelayString = "${app.users.last-seen.flush-interval:5s}")
+  void scheduledFlush() {
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      log.warn("Last-seen flush failed; entries kept for the next run", ex);
+    }
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    scheduledFlush();
+  }
+
+  /** Writes all pending activity; returns the number of users flushed. */
+  public int flush() {
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    List<Map.Entry<UUID, Long>> batch = new ArrayList<>(pending.size());
+    pending.forEach((id, seen) -> batch.add(Map.entry(id, seen)));
+    batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+    try {
+      flushTimer.record(() -> write(batch));
+    } catch (RuntimeException ex) {
+      batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Math::max));
+      throw ex;
+    }
+    flushSize.record(batch.size());
+    return batch.size();
+  }
+
+  private void write(List<Map.Entry<UUID, Long>> batch) {
+    boolean valuesJoin = databaseVendor.isPostgres();
+    for (int from = 0; from < batch.size(); from += properties.batchSize()) {
+      List<Map.Entry<UUID, Long>> chunk = batch.subList(from, Math.min(from + properties.batchSize(), batch.size()));
+      if (valuesJoin) {
+        String values = String.join(",", Collections.nCopies(chunk.size(), "(CAST(? AS uuid), CAST(? AS timestamp))"));
+        jdbcTemplate.update(POSTGRES_UPDATE_PREFIX.formatted(values), ps -> {
+          int index = 1;
+          for (Map.Entry<UUID, Long> entry : chunk) {
+            ps.setObject(index++, entry.getKey());
+            ps.setObject(index++, toTimestamp(entry.getValue()));
+          }
+        });
+      } else {
+        jdbcTemplate.batchUpdate(BATCH_UPDATE_SQL, chunk, chunk.size(), LastSeenTracker::bind);
+      }
+    }
+  }
+
+  private static void bind(PreparedStatement ps, Map.Entry<UUID, Long> entry) throws SQLException {
+    LocalDateTime seen = toTimestamp(entry.getValue());
+    ps.setObject(1, seen);
+    ps.setObject(2, entry.getKey());
+    ps.setObject(3, seen);
+  }
+
+  private static LocalDateTime toTimestamp(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,7 @@
+package com.sadok.sportivo.users.audit;
+
+public enum UserAuditAction {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,47 @@
+package com.sadok.sportivo.users.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of a {@code user_audit} row. Rows are inserted in batches by
+ * {@link UserAuditWriter} through JDBC, never through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "user_audit")
+@Getter
+@NoArgsConstructor
+public class UserAuditEntry {
+
+  @Id
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private UserAuditAction action;
+
+  /** Comma-separated {@code UserField} names; {@code null} unless UPDATED. */
+  @Column(name = "changed_fields", length = 64)
+  private String changedFields;
+
+  @Column(name = "actor_id")
+  private UUID actorId;
+
+  @Column(name = "changed_at", nullable = false)
+  private Instant changedAt;
+}
@@ -0,0 +1,25 @@
+package com.sadok.sportivo.users.audit;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import com.sadok.sportivo.users.dto.UserAuditResponse;
+import com.sadok.sportivo.users.event.UserField;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserAuditMapper {
+
+  UserAuditResponse toResponse(UserAuditEntry entry);
+
+  default Set<UserField> toFields(String changedFields) {
+    Set<UserField> fields = EnumSet.noneOf(UserField.class);
+    if (changedFields != null && !changedFields.isEmpty()) {
+      Arrays.stream(changedFields.split(",")).map(UserField::valueOf).forEach(fields::add);
+    }
+    return fields;
+  }
+}
@@ -0,0 +1,141 @@
+package com.sadok.sportivo.users.audit;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.sadok.sportivo.common.jdbc.DatabaseVendor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps monthly {@code user_audit} partitions ahead of the clock on
+ * PostgreSQL.
+ *
+ * <p>
+ * The migration pre-creates thirteen months. On startup and every
+ * {@code partitionCheckInterval} this job makes sure the current month and
+ * the next {@code partitionsAhead} exist. A missing month is created as a
+ * plain table, any rows for its range are moved out of
+ * {@code user_audit_default} and the table is attached, all in one
+ * transaction; attaching directly would fail as soon as the default partition
+ * holds a row for that range. Other databases have no partitioning and are
+ * skipped.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserAuditProperties.class)
+public class UserAuditPartitionMaintainer {
+
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private static final String EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+  private static final String CREATE_SQL =
+      "CREATE TABLE %s (LIKE user_audit INCLUDING DEFAULTS INCLUDING CONSTRAINTS)";
+  private static final String MOVE_SQL = """
+      WITH moved AS (
+        DELETE FROM user_audit_default WHERE changed_at >= ? AND changed_at < ? RETURNING *)
+      INSERT INTO %s SELECT * FROM moved""";
+  private static final String ATTACH_SQL =
+      "ALTER TABLE user_audit ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabaseVendor databaseVendor;
+  private final TransactionOperations transactionOperations;
+  private final UserAuditProperties properties;
+  private final Clock clock;
+  private final Counter created;
+  private final Counter failed;
+
+  @Autowired
+  public UserAuditPartitionMaintainer(JdbcTemplate jdbcTemplate, DatabaseVendor databaseVendor,
+      TransactionOperations transactionOperations, UserAuditProperties properties, MeterRegistry meterRegistry) {
+    this(jdbcTemplate, databaseVendor, transactionOperations, properties, meterRegistry, Clock.systemUTC());
+  }
+
+  UserAuditPartitionMaintainer(JdbcTemplate jdbcTemplate, DatabaseVendor databaseVendor,
+      TransactionOperations transactionOperations, UserAuditProperties properties, MeterRegistry meterRegistry,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databaseVendor = databaseVendor;
+    this.transactionOperations = transactionOperations;
+    this.properties = properties;
+    this.clock = clock;
+    this.created = partitions(meterRegistry, "created");
+    this.failed = partitions(meterRegistry, "failed");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onReady() {
+    scheduledCheck();
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.audit.partition-check-interval:12h}",
+      initialDelayString = "${app.users.audit.partition-check-interval:12h}")
+  void scheduledCheck() {
+    if (databaseVendor.isPostgres()) {
+      ensurePartitions(YearMonth.now(clock));
+    }
+  }
+
+  /** Creates the missing partitions from {@code from} onwards; returns how many. */
+  int ensurePartitions(YearMonth from) {
+    int count = 0;
+    for (int i = 0; i <= properties.partitionsAhead(); i++) {
+      YearMonth month = from.plusMonths(i);
+      try {
+        if (ensurePartition(month)) {
+          count++;
+        }
+      } catch (DataAccessException ex) {
+        // e.g. another instance created it first; the next run re-checks
+        failed.increment();
+        log.warn("Could not create user_audit partition for {}", month, ex);
+      }
+    }
+    return count;
+  }
+
+  private boolean ensurePartition(YearMonth month) {
+    String name = partitionName(month);
+    if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, name))) {
+      return false;
+    }
+    LocalDateTime start = month.atDay(1).atStartOfDay();
+    LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+    int moved = transactionOperations.execute(status -> {
+      jdbcTemplate.execute(CREATE_SQL.formatted(name));
+      int rows = jdbcTemplate.update(MOVE_SQL.formatted(name), start, end);
+      jdbcTemplate.execute(ATTACH_SQL.formatted(name, start.toLocalDate(), end.toLocalDate()));
+      return rows;
+    });
+    created.increment();
+    log.info("Created user_audit partition {} ({} row(s) moved from the default partition)", name, moved);
+    return true;
+  }
+
+  static String partitionName(YearMonth month) {
+    return "user_audit_" + month.format(SUFFIX);
+  }
+
+  private static Counter partitions(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.users.audit.partitions")
+        .description("user_audit partitions created by the maintenance job, by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
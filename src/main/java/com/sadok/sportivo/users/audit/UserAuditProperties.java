@@ -0,0 +1,22 @@
+package com.sadok.sportivo.users.audit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize     maximum outbox rows relayed per transaction
+ * @param flushInterval how often the outbox is polled for rows committed by
+ *                      other instances; also the initial retry backoff
+ * @param partitionsAhead monthly partitions kept ahead of the current month
+ *                        (PostgreSQL)
+ * @param partitionCheckInterval how often missing partitions are created
+ */
+@ConfigurationProperties(prefix = "app.users.audit")
+public record UserAuditProperties(
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("200ms") Duration flushInterval,
+    @DefaultValue("3") int partitionsAhead,
+    @DefaultValue("12h") Duration partitionCheckInterval) {
+}
@@ -0,0 +1,23 @@
+package com.sadok.sportivo.users.audit;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UserAuditRepository extends JpaRepository<UserAuditEntry, Long> {
+
+  /** Newest first; served by {@code idx_user_audit_user_changed_at}. */
+  Page<UserAuditEntry> findByUserIdOrderByChangedAtDescIdDesc(UUID userId, Pageable pageable);
+
+  /** Change feed page after {@code cursor}; served by the primary key. */
+  List<UserAuditEntry> findByIdGreaterThanOrderByIdAsc(long cursor, Limit limit);
+
+  /** Current head of the change feed, {@code 0} when empty. */
+  @Query("SELECT COALESCE(MAX(e.id), 0) FROM UserAuditEntry e")
+  long findLatestId();
+}
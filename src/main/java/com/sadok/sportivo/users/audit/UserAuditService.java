@@ -0,0 +1,33 @@
+package com.sadok.sportivo.users.audit;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sadok.sportivo.users.dto.UserAuditResponse;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class UserAuditService {
+
+  private final UserAuditRepository userAuditRepository;
+  private final UserAuditMapper userAuditMapper;
+
+  /**
+   * Returns the user's history, newest first. Works for deleted users too, so
+   * no existence check is made. Client-supplied sorting is ignored: only the
+   * {@code (user_id, changed_at)} order is backed by an index.
+   */
+  @Transactional(readOnly = true)
+  public PagedModel<UserAuditResponse> getHistory(UUID userId, Pageable pageable) {
+    Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    return new PagedModel<>(userAuditRepository.findByUserIdOrderByChangedAtDescIdDesc(userId, page)
+        .map(userAuditMapper::toResponse));
+  }
+}
@@ -0,0 +1,311 @@
+package com.sadok.sportivo.users.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserEvent;
+import com.sadok.sportivo.users.event.UserEventDispatcher;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends user events to {@code user_audit} through a transactional outbox.
+ *
+ * <p>
+ * {@link #onUserEvent} runs in the {@code BEFORE_COMMIT} phase and inserts
+ * one {@code user_audit_outbox} row in the same transaction as the user
+ * change, so an audit entry exists if and only if the change committed;
+ * nothing is buffered in memory and nothing can be dropped.
+ * </p>
+ *
+ * <p>
+ * A background thread relays the outbox into {@code user_audit} in JDBC
+ * batches of up to {@code batchSize} rows. It wakes after local commits and
+ * otherwise every {@code flushInterval}, and first checks with one
+ * non-locking query whether the outbox has rows at all; an idle instance
+ * never opens a relay transaction. A relay transaction first locks the
+ * {@code user-audit-relay} row of {@code sync_state}, so only one
+ * instance relays at a time and {@code id} order equals commit order across
+ * instances, which is what makes {@code id} usable as the change feed cursor.
+ * A failed relay rolls back, leaves the rows in the outbox and is retried with
+ * backoff. The relayed high-water mark is stored on the lock row; every
+ * instance polls it and wakes its own feed readers through
+ * {@link UserChangeNotifier}, whichever instance did the relaying.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserAuditProperties.class)
+public class UserAuditWriter implements SmartLifecycle {
+
+  static final String RELAY_LOCK = "user-audit-relay";
+
+  static final String OUTBOX_INSERT_SQL = """
+      INSERT INTO user_audit_outbox (user_id, action, changed_fields, actor_id, changed_at)
+      VALUES (?, ?, ?, ?, ?)""";
+
+  private static final String LOCK_SQL = "SELECT high_water_mark FROM sync_state WHERE name = ? FOR UPDATE";
+  private static final String STATE_SQL = """
+      SELECT high_water_mark, EXISTS (SELECT 1 FROM user_audit_outbox) AS outbox_pending
+      FROM sync_state WHERE name = ?""";
+  private static final String OUTBOX_SELECT_SQL = """
+      SELECT id, user_id, action, changed_fields, actor_id, changed_at
+      FROM user_audit_outbox ORDER BY id
+      FETCH FIRST ? ROWS ONLY""";
+  private static final String INSERT_SQL = """
+      INSERT INTO user_audit (user_id, action, changed_fields, actor_id, changed_at)
+      VALUES (?, ?, ?, ?, ?)""";
+  private static final String OUTBOX_DELETE_SQL = "DELETE FROM user_audit_outbox WHERE id = ?";
+  private static final String LATEST_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM user_audit";
+  private static final String SAVE_HIGH_WATER_MARK_SQL =
+      "UPDATE sync_state SET high_water_mark = ?, updated_at = ? WHERE name = ?";
+  private static final String PENDING_SQL = "SELECT COUNT(*) FROM user_audit_outbox";
+
+  private static final long STOP_TIMEOUT_MILLIS = 10_000;
+  private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionOperations transactionOperations;
+  private final UserAuditProperties properties;
+  private final UserChangeNotifier changeNotifier;
+  /** Released after local commits so the relay does not wait for the next poll. */
+  private final Semaphore wakeUp = new Semaphore(0);
+  private final AtomicLong pending = new AtomicLong();
+
+  private final Counter written;
+  private final Counter failed;
+  private final Timer flushTimer;
+
+  private volatile boolean running;
+  private Thread relay;
+  private long seenHighWaterMark;
+
+  public UserAuditWriter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+      UserAuditProperties properties, UserChangeNotifier changeNotifier, MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionOperations = transactionOperations;
+    this.properties = properties;
+    this.changeNotifier = changeNotifier;
+    Gauge.builder("sportivo.user.audit.pending", pending, AtomicLong::get)
+        .description("Audit entries committed to the outbox but not yet relayed to user_audit")
+        .register(meterRegistry);
+    this.written = entries(meterRegistry, "written");
+    this.failed = entries(meterRegistry, "failed");
+    this.flushTimer = Timer.builder("sportivo.user.audit.flush")
+        .description("Time spent relaying one audit batch")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Inserts the outbox row inside the publishing transaction; an exception
+   * here rolls the user change back. Without an active transaction (the
+   * change already committed on its own) the row is inserted immediately.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onUserEvent(UserEvent event) {
+    Row row = switch (event) {
+      case UserCreatedEvent e -> new Row(0, e.userId(), UserAuditAction.CREATED, null, e.actorId(), e.occurredAt());
+      case UserUpdatedEvent e -> new Row(0, e.userId(), UserAuditAction.UPDATED, join(e.changedFields()),
+          e.actorId(), e.occurredAt());
+      case UserDeletedEvent e -> new Row(0, e.userId(), UserAuditAction.DELETED, null, e.actorId(),
+          e.occurredAt());
+    };
+    jdbcTemplate.update(OUTBOX_INSERT_SQL, ps -> bind(ps, row));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onUserEventCommitted(UserEvent event) {
+    wakeUp.release();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    relay = Thread.ofVirtual().name("user-audit-relay").start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    wakeUp.release();
+    try {
+      if (!relay.join(Duration.ofMillis(STOP_TIMEOUT_MILLIS))) {
+        // nothing is lost: the rows stay in the outbox for the next relay
+        log.warn("Audit relay did not finish within {} ms", STOP_TIMEOUT_MILLIS);
+        relay.interrupt();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Stops after {@code UserEventDispatcher}, so changes made during graceful shutdown are relayed promptly. */
+  @Override
+  public int getPhase() {
+    return UserEventDispatcher.PHASE - 1;
+  }
+
+  private void run() {
+    long flushNanos = properties.flushInterval().toNanos();
+    int failures = 0;
+    try {
+      while (running) {
+        int relayed;
+        try {
+          relayed = relayBatch();
+          failures = 0;
+        } catch (RuntimeException ex) {
+          failed.increment();
+          Duration backoff = backoff(++failures);
+          log.error("Failed to relay audit entries (attempt {}); retrying in {}", failures, backoff, ex);
+          updatePending();
+          Thread.sleep(backoff);
+          continue;
+        }
+        if (relayed < properties.batchSize()) {
+          wakeUp.tryAcquire(flushNanos, TimeUnit.NANOSECONDS);
+          wakeUp.drainPermits();
+        }
+      }
+      // best-effort drain; anything left is relayed by the next instance to run
+      int relayed;
+      do {
+        relayed = relayBatch();
+      } while (relayed == properties.batchSize() && !Thread.currentThread().isInterrupted());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ex) {
+      log.warn("Final audit relay failed; entries stay in the outbox", ex);
+    }
+  }
+
+  /** Relays one batch and wakes feed readers if any instance relayed something new; returns the rows relayed. */
+  int relayBatch() {
+    RelayState state = jdbcTemplate.queryForObject(STATE_SQL,
+        (rs, rowNum) -> new RelayState(rs.getLong("high_water_mark"), rs.getBoolean("outbox_pending")), RELAY_LOCK);
+    long highWaterMark = state.highWaterMark();
+    int relayed = 0;
+    if (state.outboxPending()) {
+      long start = System.nanoTime();
+      Relayed result = transactionOperations.execute(status -> relayLocked());
+      relayed = result.rows();
+      if (relayed > 0) {
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        written.increment(relayed);
+      }
+      highWaterMark = Math.max(highWaterMark, result.highWaterMark());
+    }
+    pending.set(relayed < properties.batchSize() ? 0 : countPending());
+    if (highWaterMark > seenHighWaterMark) {
+      seenHighWaterMark = highWaterMark;
+      changeNotifier.signalChanged();
+    }
+    return relayed;
+  }
+
+  /** Moves one batch while holding the relay lock; returns the rows moved and the high-water mark. */
+  private Relayed relayLocked() {
+    Long highWaterMark = jdbcTemplate.queryForObject(LOCK_SQL, Long.class, RELAY_LOCK);
+    List<Row> batch = jdbcTemplate.query(OUTBOX_SELECT_SQL, UserAuditWriter::mapRow, properties.batchSize());
+    if (batch.isEmpty()) {
+      // another instance relayed the rows since the check
+      return new Relayed(0, highWaterMark == null ? 0 : highWaterMark);
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), UserAuditWriter::bind);
+    jdbcTemplate.batchUpdate(OUTBOX_DELETE_SQL, batch, batch.size(), (ps, row) -> ps.setLong(1, row.outboxId()));
+    Long latest = jdbcTemplate.queryForObject(LATEST_ID_SQL, Long.class);
+    jdbcTemplate.update(SAVE_HIGH_WATER_MARK_SQL, latest, LocalDateTime.now(ZoneOffset.UTC), RELAY_LOCK);
+    return new Relayed(batch.size(), latest);
+  }
+
+  private void updatePending() {
+    try {
+      pending.set(countPending());
+    } catch (RuntimeException ignored) {
+      // the database is what failed; keep the last value
+    }
+  }
+
+  private long countPending() {
+    Long count = jdbcTemplate.queryForObject(PENDING_SQL, Long.class);
+    return count == null ? 0 : count;
+  }
+
+  private Duration backoff(int failures) {
+    Duration backoff = properties.flushInterval().multipliedBy(1L << Math.min(failures, 10));
+    return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+  }
+
+  private static Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return new Row(
+        rs.getLong("id"),
+        rs.getObject("user_id", UUID.class),
+        UserAuditAction.valueOf(rs.getString("action")),
+        rs.getString("changed_fields"),
+        rs.getObject("actor_id", UUID.class),
+        rs.getObject("changed_at", LocalDateTime.class).toInstant(ZoneOffset.UTC));
+  }
+
+  private static void bind(PreparedStatement ps, Row row) throws SQLException {
+    ps.setObject(1, row.userId());
+    ps.setString(2, row.action().name());
+    ps.setString(3, row.changedFields());
+    ps.setObject(4, row.actorId());
+    ps.setObject(5, LocalDateTime.ofInstant(row.changedAt(), ZoneOffset.UTC));
+  }
+
+  private static String join(Set<UserField> fields) {
+    return fields.stream().map(UserField::name).sorted().collect(Collectors.joining(","));
+  }
+
+  private static Counter entries(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.user.audit.entries")
+        .description("User audit entries relayed from the outbox, by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private record RelayState(long highWaterMark, boolean outboxPending) {
+  }
+
+  private record Relayed(int rows, long highWaterMark) {
+  }
+
+  /** {@code outboxId} is 0 for rows not read from the outbox yet. */
+  private record Row(long outboxId, UUID userId, UserAuditAction action, String changedFields, UUID actorId,
+      Instant changedAt) {
+  }
+}
@@ -0,0 +1,62 @@
+package com.sadok.sportivo.users.audit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Wakes up readers of the change feed when {@link UserAuditWriter} sees new
+ * {@code user_audit} rows, relayed by this or any other instance.
+ *
+ * <p>
+ * Readers take {@link #generation()} <em>before</em> querying, and if the
+ * query finds nothing, wait for the generation to move past that value, so
+ * a commit between the query and the wait is never missed. Uses a
+ * {@link ReentrantLock} rather than {@code synchronized} so waiting virtual
+ * threads unmount from their carrier.
+ * </p>
+ */
+@Component
+public class UserChangeNotifier {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private volatile long generation;
+
+  public long generation() {
+    return generation;
+  }
+
+  /**
+   * Waits until new changes were committed after {@code seenGeneration}.
+   *
+   * @return {@code true} if changes arrived, {@code false} on timeout
+   */
+  public boolean awaitChange(long seenGeneration, Duration timeout) throws InterruptedException {
+    long remaining = timeout.toNanos();
+    lock.lock();
+    try {
+      while (generation == seenGeneration) {
+        if (remaining <= 0) {
+          return false;
+        }
+        remaining = changed.awaitNanos(remaining);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void signalChanged() {
+    lock.lock();
+    try {
+      generation++;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.sadok.sportivo.users.availability;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param expectedInsertions minimum filter capacity (usernames plus emails);
+ *                           a rebuild sizes for twice the current count if
+ *                           that is larger
+ * @param fpp                target false-positive probability; the filter is
+ *                           rebuilt once its estimate reaches twice this
+ * @param checkInterval      how often the estimate is checked
+ * @param rebuildInterval    how often the filter is rebuilt regardless of the
+ *                           estimate, as a safety net for missed changes
+ * @param followInterval     how often newly relayed {@code user_audit} rows
+ *                           are checked for users written by other instances
+ */
+@ConfigurationProperties(prefix = "app.users.availability")
+public record UserAvailabilityProperties(
+    @DefaultValue("1000000") long expectedInsertions,
+    @DefaultValue("0.01") double fpp,
+    @DefaultValue("10m") Duration checkInterval,
+    @DefaultValue("1h") Duration rebuildInterval,
+    @DefaultValue("1s") Duration followInterval) {
+}
@@ -0,0 +1,278 @@
+package com.sadok.sportivo.users.availability;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sadok.sportivo.common.concurrent.BloomFilter;
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.audit.UserChangeNotifier;
+import com.sadok.sportivo.users.dto.UserAvailabilityResponse;
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers username/email availability from an in-memory Bloom filter of
+ * every username and email in {@code users}, including soft-deleted rows.
+ *
+ * <p>
+ * A filter miss means the value is free as far as this instance knows and
+ * costs no query; only possible hits fall through to the indexed lookup. The
+ * filter is built in the background once the application is ready (until
+ * then every check goes to the database). New usernames and emails from
+ * local {@link UserEvent}s are added synchronously, in the publishing
+ * transaction just before it commits, so a value committed here is never
+ * reported free; a rolled-back one only costs an extra fallback, as do
+ * deletions, which leave their bits set.
+ * </p>
+ *
+ * <p>
+ * Users written by other instances arrive through {@code user_audit}: when
+ * {@link UserChangeNotifier} reports newly relayed rows, the values of the
+ * users they touch are added. Until then, for roughly the audit
+ * {@code flush-interval} plus {@code follow-interval}, such a value can
+ * still be reported free, so the result is advisory; the unique constraints
+ * on {@code users} decide when a user is actually created. The filter is
+ * also rebuilt every {@code rebuild-interval} and whenever the estimated
+ * false-positive rate reaches twice the target.
+ * </p>
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(UserAvailabilityProperties.class)
+public class UserAvailabilityService {
+
+  private static final int REBUILD_FETCH_SIZE = 10_000;
+  private static final int FOLLOW_BATCH_SIZE = 500;
+
+  private static final String LATEST_AUDIT_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM user_audit";
+  private static final String FOLLOW_SQL = """
+      SELECT a.id, u.username, u.email FROM user_audit a JOIN users u ON u.id = a.user_id
+      WHERE a.id > ? AND a.action <> 'DELETED'
+      ORDER BY a.id
+      FETCH FIRST ? ROWS ONLY""";
+
+  private final UserRepository userRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final JdbcTemplate streamingJdbcTemplate;
+  private final TransactionOperations transactionOperations;
+  private final UserAvailabilityProperties properties;
+  private final UserChangeNotifier changeNotifier;
+
+  private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+  private volatile BloomFilter building;
+  /** Keys added by transactions that have not completed yet, with a count per key. */
+  private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+  /** Last {@code user_audit} id whose user is known to be in the filter. */
+  private final AtomicLong auditCursor = new AtomicLong();
+  private long followedGeneration = -1;
+
+  private final Counter definitelyFree;
+  private final Counter taken;
+  private final Counter falsePositive;
+  private final Counter unfiltered;
+
+  public UserAvailabilityService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+      TransactionOperations transactionOperations, UserAvailabilityProperties properties,
+      UserChangeNotifier changeNotifier, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    this.streamingJdbcTemplate.setFetchSize(REBUILD_FETCH_SIZE);
+    this.transactionOperations = transactionOperations;
+    this.properties = properties;
+    this.changeNotifier = changeNotifier;
+    Gauge.builder("sportivo.users.availability.bloom.fpp", filter,
+        ref -> ref.get() == null ? Double.NaN : ref.get().expectedFpp())
+        .description("Estimated false-positive probability of the availability filter")
+        .register(meterRegistry);
+    Gauge.builder("sportivo.users.availability.bloom.memory", filter,
+        ref -> ref.get() == null ? 0 : ref.get().memoryBytes())
+        .description("Size of the availability filter's bit array")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.definitelyFree = checks(meterRegistry, "filtered");
+    this.taken = checks(meterRegistry, "taken");
+    this.falsePositive = checks(meterRegistry, "false_positive");
+    this.unfiltered = checks(meterRegistry, "unfiltered");
+  }
+
+  public UserAvailabilityResponse check(String username, String email) {
+    return new UserAvailabilityResponse(
+        username == null ? null : isAvailable(usernameKey(username), username, userRepository::isUsernameTaken),
+        email == null ? null : isAvailable(emailKey(email), email, userRepository::isEmailTaken));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onUserEvent(UserEvent event) {
+    if (event instanceof UserCreatedEvent created) {
+      put(usernameKey(created.username()));
+      put(emailKey(created.email()));
+    } else if (event instanceof UserUpdatedEvent updated && updated.changedFields().contains(UserField.EMAIL)) {
+      put(emailKey(updated.email()));
+    }
+  }
+
+  /**
+   * Adds the users touched by {@code user_audit} rows relayed since the last
+   * call, by any instance. Queries only when {@link UserChangeNotifier}
+   * reports new rows.
+   */
+  @Scheduled(fixedDelayString = "${app.users.availability.follow-interval:1s}")
+  void followChanges() {
+    long generation = changeNotifier.generation();
+    if (generation == followedGeneration || filter.get() == null) {
+      return;
+    }
+    try {
+      List<Long> ids;
+      do {
+        ids = jdbcTemplate.query(FOLLOW_SQL, (rs, rowNum) -> {
+          put(usernameKey(rs.getString("username")));
+          put(emailKey(rs.getString("email")));
+          return rs.getLong("id");
+        }, auditCursor.get(), FOLLOW_BATCH_SIZE);
+        if (!ids.isEmpty()) {
+          auditCursor.accumulateAndGet(ids.getLast(), Math::max);
+        }
+      } while (ids.size() == FOLLOW_BATCH_SIZE);
+      followedGeneration = generation;
+    } catch (RuntimeException ex) {
+      log.warn("Failed to follow user changes; retrying on the next run", ex);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void rebuildOnStartup() {
+    Thread.ofVirtual().name("user-availability-rebuild").start(this::rebuild);
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.availability.check-interval:10m}",
+      initialDelayString = "${app.users.availability.check-interval:10m}")
+  void rebuildIfSaturated() {
+    BloomFilter current = filter.get();
+    if (current != null && current.expectedFpp() >= properties.fpp() * 2) {
+      log.info("Availability filter saturated [fpp={}], rebuilding", current.expectedFpp());
+      rebuild();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.availability.rebuild-interval:1h}",
+      initialDelayString = "${app.users.availability.rebuild-interval:1h}")
+  void rebuildPeriodically() {
+    rebuild();
+  }
+
+  /**
+   * Builds a fresh filter by streaming {@code users} and swaps it in. Values
+   * published from the moment the new filter exists go into both filters,
+   * and values of transactions still in flight at that moment are copied
+   * over, so a commit the scan's snapshot misses is never lost.
+   */
+  public void rebuild() {
+    if (!rebuildLock.tryLock()) {
+      return;
+    }
+    try {
+      long start = System.nanoTime();
+      long rows = userRepository.countIncludingDeleted();
+      BloomFilter next = new BloomFilter(Math.max(properties.expectedInsertions(), rows * 4), properties.fpp());
+      building = next;
+      inFlight.keySet().forEach(next::put);
+      // rows relayed after this point are followed, everything before is in the scan
+      Long latestAuditId = jdbcTemplate.queryForObject(LATEST_AUDIT_ID_SQL, Long.class);
+      transactionOperations.executeWithoutResult(status -> streamingJdbcTemplate.query(
+          "SELECT username, email FROM users", rs -> {
+            next.put(usernameKey(rs.getString(1)));
+            next.put(emailKey(rs.getString(2)));
+          }));
+      filter.set(next);
+      auditCursor.accumulateAndGet(latestAuditId, Math::max);
+      log.info("Availability filter built [users={}, bits={}, hashes={}, took={}ms]",
+          rows, next.bitCount(), next.hashCount(), (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException ex) {
+      log.error("Availability filter rebuild failed; checks keep using the previous filter", ex);
+    } finally {
+      building = null;
+      rebuildLock.unlock();
+    }
+  }
+
+  private boolean isAvailable(String key, String value, Predicate<String> isTaken) {
+    BloomFilter current = filter.get();
+    if (current != null && !current.mightContain(key)) {
+      definitelyFree.increment();
+      return true;
+    }
+    boolean inUse = isTaken.test(value);
+    (current == null ? unfiltered : inUse ? taken : falsePositive).increment();
+    return !inUse;
+  }
+
+  /**
+   * Adds the key to the filter and to one being built. Inside a transaction
+   * the key is also tracked as in flight until it completes, before either
+   * filter is read, so a rebuild starting meanwhile copies it.
+   */
+  private void put(String key) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      inFlight.merge(key, 1, Integer::sum);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          inFlight.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+        }
+      });
+    }
+    BloomFilter current = filter.get();
+    if (current != null) {
+      current.put(key);
+    }
+    BloomFilter next = building;
+    if (next != null) {
+      next.put(key);
+    }
+  }
+
+  // Lower-cased so the filter is a superset of both case-sensitive and
+  // case-insensitive matches; the fallback query decides exactly.
+  private static String usernameKey(String username) {
+    return "u:" + username.toLowerCase(Locale.ROOT);
+  }
+
+  private static String emailKey(String email) {
+    return "e:" + email.toLowerCase(Locale.ROOT);
+  }
+
+  private static Counter checks(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.users.availability.checks")
+        .description("Availability checks by outcome; filtered ones needed no query")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,21 @@
+package com.sadok.sportivo.users.dto;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import com.sadok.sportivo.users.audit.UserAuditAction;
+import com.sadok.sportivo.users.event.UserField;
+
+/**
+ * One entry of a user's change history. {@code changedFields} is empty unless
+ * {@code action} is {@code UPDATED}.
+ */
+public record UserAuditResponse(
+    Long id,
+    UUID userId,
+    UserAuditAction action,
+    Set<UserField> changedFields,
+    UUID actorId,
+    Instant changedAt) {
+}
@@ -0,0 +1,10 @@
+package com.sadok.sportivo.users.dto;
+
+/**
+ * Result of an availability check; a field is {@code null} when that value
+ * was not asked for. Advisory only: creation still enforces uniqueness.
+ */
+public record UserAvailabilityResponse(
+    Boolean usernameAvailable,
+    Boolean emailAvailable) {
+}
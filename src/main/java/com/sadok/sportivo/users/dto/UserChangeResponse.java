@@ -0,0 +1,22 @@
+package com.sadok.sportivo.users.dto;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import com.sadok.sportivo.users.audit.UserAuditAction;
+import com.sadok.sportivo.users.event.UserField;
+
+/**
+ * One change in the feed. {@code user} is the user's current state, or
+ * {@code null} once the user has been deleted; consumers that see several
+ * changes for the same user in one page may apply only the last one.
+ */
+public record UserChangeResponse(
+    long sequence,
+    UUID userId,
+    UserAuditAction action,
+    Set<UserField> changedFields,
+    Instant changedAt,
+    UserResponse user) {
+}
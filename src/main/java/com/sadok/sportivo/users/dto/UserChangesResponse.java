@@ -0,0 +1,13 @@
+package com.sadok.sportivo.users.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. Pass {@code nextCursor} back as {@code cursor};
+ * when {@code hasMore} is {@code true} the next page is available right away.
+ */
+public record UserChangesResponse(
+    List<UserChangeResponse> changes,
+    long nextCursor,
+    boolean hasMore) {
+}
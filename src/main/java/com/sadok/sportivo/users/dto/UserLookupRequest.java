@@ -0,0 +1,18 @@
+package com.sadok.sportivo.users.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Resolves many user IDs (e.g. a team roster) in one call. Duplicates are
+ * allowed and answered once.
+ */
+public record UserLookupRequest(
+        @NotEmpty(message = "{validation.ids.notEmpty}") @Size(max = UserLookupRequest.MAX_IDS, message = "{validation.ids.size}") List<@NotNull(message = "{validation.ids.notNull}") UUID> ids) {
+
+  public static final int MAX_IDS = 500;
+}
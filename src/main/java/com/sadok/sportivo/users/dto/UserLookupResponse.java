@@ -0,0 +1,14 @@
+package com.sadok.sportivo.users.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code users} follows the order of the requested IDs; IDs with no live
+ * user are listed in {@code missing}, also in request order. {@code T} is
+ * {@link UserResponse}, or a field map when a sparse fieldset was requested.
+ */
+public record UserLookupResponse<T>(
+    List<T> users,
+    List<UUID> missing) {
+}
@@ -7,7 +7,7 @@ import java.util.UUID;
 
 /**
  * Read model returned to callers. Never exposes credentials or internal
- * details.
+ * details. {@code lastSeenAt} lags real activity by up to one flush interval.
  */
 public record UserResponse(
     UUID id,
@@ -17,5 +17,6 @@ public record UserResponse(
     String lastName,
     UserRole role,
     Instant createdAt,
-    Instant updatedAt) {
+    Instant updatedAt,
+    Instant lastSeenAt) {
 }
@@ -0,0 +1,21 @@
+package com.sadok.sportivo.users.dto;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import com.sadok.sportivo.users.audit.UserAuditAction;
+import com.sadok.sportivo.users.event.UserField;
+
+/**
+ * Payload of a {@code user-change} server-sent event. Deliberately compact:
+ * dashboards re-read the affected row only if it is on screen. The SSE event
+ * id is {@code sequence}, the same cursor as the change feed.
+ */
+public record UserStreamEvent(
+    long sequence,
+    UUID userId,
+    UserAuditAction action,
+    Set<UserField> changedFields,
+    Instant changedAt) {
+}
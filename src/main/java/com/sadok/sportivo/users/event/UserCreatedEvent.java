@@ -0,0 +1,17 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.sadok.sportivo.users.UserRole;
+
+public record UserCreatedEvent(
+    UUID userId,
+    String username,
+    String email,
+    String firstName,
+    String lastName,
+    UserRole role,
+    UUID actorId,
+    Instant occurredAt) implements UserEvent {
+}
@@ -0,0 +1,10 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserDeletedEvent(
+    UUID userId,
+    UUID actorId,
+    Instant occurredAt) implements UserEvent {
+}
@@ -0,0 +1,20 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Domain event describing a change to a user. Published to the broker and
+ * consumed by downstream services, so records are treated as a wire
+ * contract: add fields at the end and bump
+ * {@link UserEventBinaryCodec#VERSION} when the binary layout changes.
+ */
+public sealed interface UserEvent permits UserCreatedEvent, UserUpdatedEvent, UserDeletedEvent {
+
+  UUID userId();
+
+  /** The user who made the change, or {@code null} for system changes. */
+  UUID actorId();
+
+  Instant occurredAt();
+}
@@ -0,0 +1,218 @@
+package com.sadok.sportivo.users.event;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import com.sadok.sportivo.users.UserRole;
+
+/**
+ * Compact, versioned binary encoding of {@link UserEvent}s.
+ *
+ * <pre>
+ * byte     version (currently 1)
+ * byte     type: 0 created, 1 updated, 2 deleted
+ * 16 bytes userId
+ * byte     flags: bit 0 = actorId present
+ * 16 bytes actorId (if present)
+ * varint   occurredAt, epoch millis
+ * created: string username, email, firstName, lastName; varint role ordinal
+ * updated: varint changed-field mask (bit = UserField ordinal); one string per set bit
+ * </pre>
+ *
+ * Strings are a varint of {@code length + 1} followed by UTF-8 bytes, with
+ * {@code 0} meaning {@code null}. Decoders reject unknown versions.
+ */
+public final class UserEventBinaryCodec {
+
+  public static final byte VERSION = 1;
+
+  private static final byte CREATED = 0;
+  private static final byte UPDATED = 1;
+  private static final byte DELETED = 2;
+  private static final int ACTOR_PRESENT = 1;
+
+  private static final UserRole[] ROLES = UserRole.values();
+  private static final UserField[] FIELDS = UserField.values();
+
+  private UserEventBinaryCodec() {
+  }
+
+  public static byte[] encode(UserEvent event) {
+    Writer out = new Writer();
+    out.writeByte(VERSION);
+    out.writeByte(switch (event) {
+      case UserCreatedEvent e -> CREATED;
+      case UserUpdatedEvent e -> UPDATED;
+      case UserDeletedEvent e -> DELETED;
+    });
+    out.writeUuid(event.userId());
+    out.writeByte(event.actorId() != null ? ACTOR_PRESENT : 0);
+    if (event.actorId() != null) {
+      out.writeUuid(event.actorId());
+    }
+    out.writeVarLong(event.occurredAt().toEpochMilli());
+    switch (event) {
+      case UserCreatedEvent e -> {
+        out.writeString(e.username());
+        out.writeString(e.email());
+        out.writeString(e.firstName());
+        out.writeString(e.lastName());
+        out.writeVarLong(e.role().ordinal());
+      }
+      case UserUpdatedEvent e -> {
+        long mask = 0;
+        for (UserField field : e.changedFields()) {
+          mask |= 1L << field.ordinal();
+        }
+        out.writeVarLong(mask);
+        for (UserField field : FIELDS) {
+          if ((mask & (1L << field.ordinal())) != 0) {
+            out.writeString(switch (field) {
+              case EMAIL -> e.email();
+              case FIRST_NAME -> e.firstName();
+              case LAST_NAME -> e.lastName();
+            });
+          }
+        }
+      }
+      case UserDeletedEvent e -> {
+      }
+    }
+    return out.toByteArray();
+  }
+
+  public static UserEvent decode(byte[] bytes) {
+    Reader in = new Reader(bytes);
+    byte version = in.readByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported user event encoding version " + version);
+    }
+    byte type = in.readByte();
+    UUID userId = in.readUuid();
+    UUID actorId = (in.readByte() & ACTOR_PRESENT) != 0 ? in.readUuid() : null;
+    Instant occurredAt = Instant.ofEpochMilli(in.readVarLong());
+    return switch (type) {
+      case CREATED -> new UserCreatedEvent(userId, in.readString(), in.readString(), in.readString(),
+          in.readString(), ROLES[(int) in.readVarLong()], actorId, occurredAt);
+      case UPDATED -> {
+        long mask = in.readVarLong();
+        Set<UserField> changed = EnumSet.noneOf(UserField.class);
+        String email = null;
+        String firstName = null;
+        String lastName = null;
+        for (UserField field : FIELDS) {
+          if ((mask & (1L << field.ordinal())) != 0) {
+            changed.add(field);
+            String value = in.readString();
+            switch (field) {
+              case EMAIL -> email = value;
+              case FIRST_NAME -> firstName = value;
+              case LAST_NAME -> lastName = value;
+            }
+          }
+        }
+        yield new UserUpdatedEvent(userId, changed, email, firstName, lastName, actorId, occurredAt);
+      }
+      case DELETED -> new UserDeletedEvent(userId, actorId, occurredAt);
+      default -> throw new IllegalArgumentException("Unknown user event type " + type);
+    };
+  }
+
+  private static final class Writer extends ByteArrayOutputStream {
+
+    Writer() {
+      super(96);
+    }
+
+    void writeByte(int b) {
+      write(b);
+    }
+
+    void writeUuid(UUID uuid) {
+      writeLong(uuid.getMostSignificantBits());
+      writeLong(uuid.getLeastSignificantBits());
+    }
+
+    void writeLong(long v) {
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        write((int) (v >>> shift));
+      }
+    }
+
+    void writeVarLong(long v) {
+      while ((v & ~0x7FL) != 0) {
+        write((int) ((v & 0x7F) | 0x80));
+        v >>>= 7;
+      }
+      write((int) v);
+    }
+
+    void writeString(String s) {
+      if (s == null) {
+        writeVarLong(0);
+        return;
+      }
+      byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(utf8.length + 1L);
+      write(utf8, 0, utf8.length);
+    }
+  }
+
+  private static final class Reader {
+
+    private final byte[] buf;
+    private int pos;
+
+    Reader(byte[] buf) {
+      this.buf = buf;
+    }
+
+    byte readByte() {
+      if (pos >= buf.length) {
+        throw new IllegalArgumentException("Truncated user event payload");
+      }
+      return buf[pos++];
+    }
+
+    UUID readUuid() {
+      return new UUID(readLong(), readLong());
+    }
+
+    long readLong() {
+      long v = 0;
+      for (int i = 0; i < 8; i++) {
+        v = (v << 8) | (readByte() & 0xFF);
+      }
+      return v;
+    }
+
+    long readVarLong() {
+      long v = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = readByte();
+        v |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return v;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in user event payload");
+    }
+
+    String readString() {
+      int length = (int) readVarLong() - 1;
+      if (length < 0) {
+        return null;
+      }
+      if (length > buf.length - pos) {
+        throw new IllegalArgumentException("Truncated user event payload");
+      }
+      String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+      pos += length;
+      return s;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.sadok.sportivo.users.event;
+
+import org.springframework.stereotype.Component;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Forwards user events to the broker for the notification service (welcome
+ * emails and the like), under {@code sportivo.notifications.user.<type>}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEventBrokerPublisher implements UserEventListener {
+
+  static final String ROUTING_KEY_PREFIX = "sportivo.notifications.user.";
+
+  private final RabbitMqProducer rabbitMqProducer;
+
+  @Override
+  public void onUserEvent(UserEvent event) {
+    String type = switch (event) {
+      case UserCreatedEvent e -> "created";
+      case UserUpdatedEvent e -> "updated";
+      case UserDeletedEvent e -> "deleted";
+    };
+    rabbitMqProducer.publish(ROUTING_KEY_PREFIX + type, event);
+  }
+}
@@ -0,0 +1,156 @@
+package com.sadok.sportivo.users.event;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers {@link UserEvent}s to {@link UserEventListener}s asynchronously
+ * and only after commit.
+ *
+ * <p>
+ * {@code UserService} publishes events through Spring's
+ * {@code ApplicationEventPublisher}. This component receives them in the
+ * {@code AFTER_COMMIT} phase (or immediately when no transaction is active,
+ * i.e. the write already committed in its own short transaction), puts them
+ * on a bounded queue and returns. Virtual-thread workers drain the queue, so
+ * downstream work never extends request latency. When the queue is full the
+ * event is dropped and counted; on shutdown the queue is drained for up to
+ * {@code drainTimeout} before the context closes.
+ * </p>
+ *
+ * <p>
+ * The dispatcher stops in {@link #PHASE}, after Boot's graceful web-server
+ * shutdown, so requests still in flight during the grace period publish into
+ * a running dispatcher instead of being counted as overflow.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserEventProperties.class)
+public class UserEventDispatcher implements SmartLifecycle {
+
+  /**
+   * Just below {@code WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE}
+   * ({@code DEFAULT_PHASE - 1024}); lower phases stop later.
+   */
+  public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1024 - 1;
+
+  private final UserEventProperties properties;
+  private final ObjectProvider<UserEventListener> listenerProvider;
+  private final BlockingQueue<UserEvent> queue;
+
+  private final Counter delivered;
+  private final Counter overflow;
+  private final Counter failed;
+
+  private volatile List<UserEventListener> listeners = List.of();
+  private volatile boolean running;
+  private ExecutorService executor;
+
+  public UserEventDispatcher(UserEventProperties properties, ObjectProvider<UserEventListener> listenerProvider,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.listenerProvider = listenerProvider;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    Gauge.builder("sportivo.user.events.queued", queue, BlockingQueue::size)
+        .description("User events waiting for delivery")
+        .register(meterRegistry);
+    this.delivered = events(meterRegistry, "delivered");
+    this.overflow = events(meterRegistry, "overflow");
+    this.failed = events(meterRegistry, "failed");
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserEvent(UserEvent event) {
+    if (!running || !queue.offer(event)) {
+      overflow.increment();
+      log.warn("User event dropped, dispatcher {} [type={}, userId={}]",
+          running ? "queue full" : "stopped", event.getClass().getSimpleName(), event.userId());
+    }
+  }
+
+  @Override
+  public void start() {
+    listeners = listenerProvider.orderedStream().toList();
+    executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-events-", 0).factory());
+    running = true;
+    for (int i = 0; i < properties.workers(); i++) {
+      executor.execute(this::drain);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(properties.drainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("User event dispatcher did not drain within {}; {} event(s) lost",
+            properties.drainTimeout(), queue.size());
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /** Runs until stopped and the queue is empty. */
+  private void drain() {
+    try {
+      while (running || !queue.isEmpty()) {
+        UserEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (event != null) {
+          deliver(event);
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void deliver(UserEvent event) {
+    for (UserEventListener listener : listeners) {
+      try {
+        listener.onUserEvent(event);
+      } catch (Exception ex) {
+        failed.increment();
+        log.error("User event listener {} failed [type={}, userId={}]",
+            listener.getClass().getSimpleName(), event.getClass().getSimpleName(), event.userId(), ex);
+      }
+    }
+    delivered.increment();
+  }
+
+  private static Counter events(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.user.events")
+        .description("User events handled by the after-commit dispatcher")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,12 @@
+package com.sadok.sportivo.users.event;
+
+/**
+ * Receives {@link UserEvent}s after the originating transaction committed,
+ * on a {@link UserEventDispatcher} worker thread. Implementations may block
+ * (remote calls, database writes); they never delay the request that caused
+ * the event. Exceptions are logged and do not affect other listeners.
+ */
+public interface UserEventListener {
+
+  void onUserEvent(UserEvent event);
+}
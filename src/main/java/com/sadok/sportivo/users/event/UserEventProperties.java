@@ -0,0 +1,19 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param queueCapacity events buffered between commit and delivery; further
+ *                      events are dropped and counted as overflow
+ * @param workers       virtual threads delivering events concurrently
+ * @param drainTimeout  how long shutdown waits for the queue to empty
+ */
+@ConfigurationProperties(prefix = "app.users.events")
+public record UserEventProperties(
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("4") int workers,
+    @DefaultValue("10s") Duration drainTimeout) {
+}
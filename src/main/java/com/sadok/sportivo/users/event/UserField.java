@@ -0,0 +1,11 @@
+package com.sadok.sportivo.users.event;
+
+/**
+ * Mutable user profile fields. The binary codec encodes sets of these as a
+ * bit mask by ordinal, so only ever append new constants.
+ */
+public enum UserField {
+  EMAIL,
+  FIRST_NAME,
+  LAST_NAME
+}
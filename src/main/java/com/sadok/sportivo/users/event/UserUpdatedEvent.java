@@ -0,0 +1,20 @@
+package com.sadok.sportivo.users.event;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Profile update. {@code changedFields} lists what actually changed; the
+ * value fields carry the new value for changed fields and {@code null}
+ * otherwise.
+ */
+public record UserUpdatedEvent(
+    UUID userId,
+    Set<UserField> changedFields,
+    String email,
+    String firstName,
+    String lastName,
+    UUID actorId,
+    Instant occurredAt) implements UserEvent {
+}
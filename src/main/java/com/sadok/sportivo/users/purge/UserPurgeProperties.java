@@ -0,0 +1,22 @@
+package com.sadok.sportivo.users.purge;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled        whether the scheduled purge runs
+ * @param interval       delay between purge runs
+ * @param batchSize      users purged per run
+ * @param initialBackoff delay before the first retry of a failed purge
+ * @param maxBackoff     upper bound of the exponential retry delay
+ */
+@ConfigurationProperties(prefix = "app.users.purge")
+public record UserPurgeProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5s") Duration interval,
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("10s") Duration initialBackoff,
+    @DefaultValue("30m") Duration maxBackoff) {
+}
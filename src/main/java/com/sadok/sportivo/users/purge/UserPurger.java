@@ -0,0 +1,103 @@
+package com.sadok.sportivo.users.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.UserRepository.PurgeCandidate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finishes user deletion in the background.
+ *
+ * <p>
+ * {@code UserService.deleteUser} only marks the row deleted. Each run takes
+ * up to {@code batchSize} due rows, deletes their Keycloak identities (a
+ * missing identity counts as deleted) and hard-deletes the rows whose
+ * identity is gone. Failures are retried with exponential backoff and never
+ * dropped; {@code sportivo.users.purge.pending} shows the backlog. No
+ * transaction is open while Keycloak is called.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserPurgeProperties.class)
+public class UserPurger {
+
+  private final UserRepository userRepository;
+  private final KeycloakAdminService keycloakAdminService;
+  private final UserPurgeProperties properties;
+  private final AtomicLong pending = new AtomicLong();
+  private final Counter purged;
+  private final Counter failed;
+
+  public UserPurger(UserRepository userRepository, KeycloakAdminService keycloakAdminService,
+      UserPurgeProperties properties, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.keycloakAdminService = keycloakAdminService;
+    this.properties = properties;
+    Gauge.builder("sportivo.users.purge.pending", pending, AtomicLong::get)
+        .description("Soft-deleted users whose Keycloak identity or row is not purged yet")
+        .register(meterRegistry);
+    this.purged = attempts(meterRegistry, "purged");
+    this.failed = attempts(meterRegistry, "failed");
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.purge.interval:5s}", initialDelayString = "${app.users.purge.interval:5s}")
+  void scheduledPurge() {
+    if (properties.enabled()) {
+      purgeDue();
+    }
+  }
+
+  /** Purges one batch of due users; returns the number hard-deleted. */
+  public int purgeDue() {
+    Instant now = Instant.now();
+    List<PurgeCandidate> due = userRepository.findDuePurges(now, properties.batchSize());
+    List<UUID> gone = new ArrayList<>(due.size());
+    for (PurgeCandidate candidate : due) {
+      try {
+        keycloakAdminService.deleteUser(candidate.getId());
+        gone.add(candidate.getId());
+      } catch (RuntimeException ex) {
+        failed.increment();
+        Duration backoff = backoff(candidate.getPurgeAttempts());
+        userRepository.deferPurge(candidate.getId(), now.plus(backoff));
+        log.warn("Keycloak purge failed for user [id={}, attempt={}]; retrying in {}",
+            candidate.getId(), candidate.getPurgeAttempts() + 1, backoff, ex);
+      }
+    }
+    int deleted = gone.isEmpty() ? 0 : userRepository.hardDelete(gone);
+    purged.increment(deleted);
+    pending.set(userRepository.countPendingPurges());
+    if (deleted > 0) {
+      log.info("Purged {} deleted user(s), {} pending", deleted, pending.get());
+    }
+    return deleted;
+  }
+
+  private Duration backoff(int previousAttempts) {
+    Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(previousAttempts, 20));
+    return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+  }
+
+  private static Counter attempts(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.users.purge")
+        .description("Keycloak purge attempts for deleted users, by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,293 @@
+package com.sadok.sportivo.users.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sadok.sportivo.users.audit.UserAuditEntry;
+import com.sadok.sportivo.users.audit.UserAuditMapper;
+import com.sadok.sportivo.users.audit.UserAuditRepository;
+import com.sadok.sportivo.users.audit.UserChangeNotifier;
+import com.sadok.sportivo.users.dto.UserStreamEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes user changes to connected admin dashboards as server-sent events.
+ *
+ * <p>
+ * The stream is fed from {@code user_audit}, so every change made through
+ * {@code UserService} appears with the same id as in the change feed and a
+ * client can resume with {@code Last-Event-ID}. One virtual thread reads new
+ * audit rows when {@link UserChangeNotifier} signals a flush and fans them out
+ * once to all connections, so the database load does not grow with the number
+ * of dashboards.
+ * </p>
+ *
+ * <p>
+ * Each connection has a bounded buffer drained by its own virtual thread;
+ * an idle connection is a parked virtual thread plus the servlet async
+ * context, not a platform thread. A connection whose buffer fills up is a
+ * slow consumer and is disconnected so it cannot hold back the others.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserStreamProperties.class)
+public class UserStreamBroadcaster implements SmartLifecycle {
+
+  static final String CHANGE_EVENT = "user-change";
+  static final String RESET_EVENT = "reset";
+
+  private static final int READ_BATCH = 500;
+  private static final long RECONNECT_MILLIS = 3_000;
+  private static final Duration ERROR_BACKOFF = Duration.ofSeconds(1);
+
+  private final UserAuditRepository userAuditRepository;
+  private final UserAuditMapper userAuditMapper;
+  private final UserChangeNotifier changeNotifier;
+  private final UserStreamProperties properties;
+
+  private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+  private final Counter broadcast;
+  private final Map<Reason, Counter> disconnects = new EnumMap<>(Reason.class);
+
+  private volatile boolean running;
+  private Thread reader;
+
+  public UserStreamBroadcaster(UserAuditRepository userAuditRepository, UserAuditMapper userAuditMapper,
+      UserChangeNotifier changeNotifier, UserStreamProperties properties, MeterRegistry meterRegistry) {
+    this.userAuditRepository = userAuditRepository;
+    this.userAuditMapper = userAuditMapper;
+    this.changeNotifier = changeNotifier;
+    this.properties = properties;
+    Gauge.builder("sportivo.users.stream.connections", connections, Set::size)
+        .description("Open user change streams")
+        .register(meterRegistry);
+    this.broadcast = Counter.builder("sportivo.users.stream.events")
+        .description("User changes fanned out to open streams")
+        .register(meterRegistry);
+    for (Reason reason : Reason.values()) {
+      disconnects.put(reason, Counter.builder("sportivo.users.stream.disconnects")
+          .description("Closed user change streams by reason")
+          .tag("reason", reason.tag)
+          .register(meterRegistry));
+    }
+  }
+
+  /**
+   * Opens a stream. With {@code lastEventId}, changes after it are replayed
+   * first (up to {@code replayLimit}); live changes that race with the
+   * replay are deduplicated by id.
+   */
+  public SseEmitter subscribe(Long lastEventId) {
+    return subscribe(new SseEmitter(properties.timeout().toMillis()), lastEventId);
+  }
+
+  SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+    Connection connection = new Connection(emitter, lastEventId);
+    connections.add(connection);
+    if (!running) {
+      connection.close(Reason.SHUTDOWN);
+    } else {
+      connection.start();
+    }
+    return connection.emitter;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    reader = Thread.ofVirtual().name("user-stream-reader").start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    reader.interrupt();
+    connections.forEach(connection -> connection.close(Reason.SHUTDOWN));
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    long heartbeatNanos = properties.heartbeatInterval().toNanos();
+    long cursor = -1;
+    long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+    while (running) {
+      try {
+        if (cursor < 0) {
+          cursor = userAuditRepository.findLatestId();
+        }
+        long generation = changeNotifier.generation();
+        List<UserAuditEntry> entries = userAuditRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(READ_BATCH));
+        for (UserAuditEntry entry : entries) {
+          Frame frame = new Frame(entry.getId(), toEvent(entry));
+          connections.forEach(connection -> connection.offer(frame));
+          cursor = entry.getId();
+        }
+        broadcast.increment(entries.size());
+        if (entries.size() == READ_BATCH) {
+          continue;
+        }
+        long untilHeartbeat = nextHeartbeat - System.nanoTime();
+        if (untilHeartbeat <= 0) {
+          Frame heartbeat = new Frame(0, null);
+          connections.forEach(connection -> connection.offer(heartbeat));
+          nextHeartbeat = System.nanoTime() + heartbeatNanos;
+          continue;
+        }
+        changeNotifier.awaitChange(generation, Duration.ofNanos(untilHeartbeat));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.error("User stream reader failed, retrying in {}", ERROR_BACKOFF, ex);
+        try {
+          Thread.sleep(ERROR_BACKOFF);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private UserStreamEvent toEvent(UserAuditEntry entry) {
+    return new UserStreamEvent(entry.getId(), entry.getUserId(), entry.getAction(),
+        userAuditMapper.toFields(entry.getChangedFields()), entry.getChangedAt());
+  }
+
+  private void disconnected(Connection connection, Reason reason) {
+    connections.remove(connection);
+    disconnects.get(reason).increment();
+  }
+
+  /**
+   * A change, or a heartbeat when {@code event} is {@code null}. Shared by all
+   * connections, so it holds the payload rather than an {@code SseEventBuilder},
+   * which is stateful and built once per send.
+   */
+  private record Frame(long sequence, UserStreamEvent event) {
+  }
+
+  private enum Reason {
+    CLOSED("closed"), TIMEOUT("timeout"), ERROR("error"), SLOW("slow_consumer"), SHUTDOWN("shutdown");
+
+    private final String tag;
+
+    Reason(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final class Connection {
+
+    private final SseEmitter emitter;
+    private final Long resumeAfter;
+    private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private long lastSent;
+    private Thread drainer;
+
+    Connection(SseEmitter emitter, Long resumeAfter) {
+      this.emitter = emitter;
+      this.resumeAfter = resumeAfter;
+      emitter.onCompletion(() -> close(Reason.CLOSED));
+      emitter.onTimeout(() -> close(Reason.TIMEOUT));
+      emitter.onError(ex -> close(Reason.ERROR));
+    }
+
+    void start() {
+      drainer = Thread.ofVirtual().name("user-stream-", 0).start(this::drain);
+    }
+
+    void offer(Frame frame) {
+      if (!buffer.offer(frame)) {
+        log.info("Disconnecting slow user stream consumer after {} buffered frames", properties.bufferSize());
+        close(Reason.SLOW);
+      }
+    }
+
+    void close(Reason reason) {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      disconnected(this, reason);
+      if (drainer != null) {
+        drainer.interrupt();
+      }
+      // CLOSED and ERROR come from the container, which already ends the response
+      if (reason == Reason.SLOW || reason == Reason.SHUTDOWN || reason == Reason.TIMEOUT) {
+        emitter.complete();
+      }
+    }
+
+    private void drain() {
+      try {
+        emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+        if (resumeAfter != null) {
+          replay(resumeAfter);
+        }
+        while (!closed.get()) {
+          Frame frame = buffer.take();
+          if (frame.event() == null || frame.sequence() > lastSent) {
+            send(frame);
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (IOException | IllegalStateException ex) {
+        close(Reason.ERROR);
+      } catch (RuntimeException ex) {
+        log.warn("User stream replay failed", ex);
+        close(Reason.ERROR);
+        emitter.completeWithError(ex);
+      }
+    }
+
+    private void replay(long after) throws IOException {
+      List<UserAuditEntry> missed = userAuditRepository.findByIdGreaterThanOrderByIdAsc(
+          after, Limit.of(properties.replayLimit() + 1));
+      if (missed.size() > properties.replayLimit()) {
+        emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+        return;
+      }
+      for (UserAuditEntry entry : missed) {
+        send(new Frame(entry.getId(), toEvent(entry)));
+      }
+    }
+
+    private void send(Frame frame) throws IOException {
+      if (frame.event() == null) {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+        return;
+      }
+      emitter.send(SseEmitter.event()
+          .id(Long.toString(frame.sequence()))
+          .name(CHANGE_EVENT)
+          .data(frame.event(), MediaType.APPLICATION_JSON));
+      lastSent = frame.sequence();
+    }
+  }
+}
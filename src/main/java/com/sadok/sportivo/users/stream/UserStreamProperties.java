@@ -0,0 +1,25 @@
+package com.sadok.sportivo.users.stream;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param bufferSize        frames buffered per connection before it is
+ *                          treated as a slow consumer and disconnected
+ * @param heartbeatInterval idle time after which a comment frame is sent, so
+ *                          proxies keep the connection open and dead clients
+ *                          are detected
+ * @param timeout           lifetime of one connection; clients reconnect with
+ *                          {@code Last-Event-ID}
+ * @param replayLimit       most changes replayed on resume; beyond that the
+ *                          client gets a {@code reset} event and must reload
+ */
+@ConfigurationProperties(prefix = "app.users.stream")
+public record UserStreamProperties(
+    @DefaultValue("256") int bufferSize,
+    @DefaultValue("15s") Duration heartbeatInterval,
+    @DefaultValue("30m") Duration timeout,
+    @DefaultValue("1000") int replayLimit) {
+}
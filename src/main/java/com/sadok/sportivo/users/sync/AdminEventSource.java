@@ -0,0 +1,14 @@
+package com.sadok.sportivo.users.sync;
+
+import java.util.List;
+
+/** Where {@link UserSync} reads identity provider changes from. */
+public interface AdminEventSource {
+
+  /**
+   * Returns the user events that happened at or after {@code sinceMillis},
+   * oldest first. Events at exactly {@code sinceMillis} may be returned again
+   * on the next call; applying them is idempotent.
+   */
+  List<UserAdminEvent> fetchSince(long sinceMillis);
+}
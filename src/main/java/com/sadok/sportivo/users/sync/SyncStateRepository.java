@@ -0,0 +1,34 @@
+package com.sadok.sportivo.users.sync;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/** High-water marks in {@code sync_state}, keyed by worker name. */
+@Repository
+@RequiredArgsConstructor
+public class SyncStateRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public OptionalLong findHighWaterMark(String name) {
+    return jdbcTemplate.query("SELECT high_water_mark FROM sync_state WHERE name = ?",
+        rs -> rs.next() ? OptionalLong.of(rs.getLong(1)) : OptionalLong.empty(), name);
+  }
+
+  /** Joins the caller's transaction, so the mark moves only if the applied changes commit. */
+  public void saveHighWaterMark(String name, long value) {
+    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    int updated = jdbcTemplate.update(
+        "UPDATE sync_state SET high_water_mark = ?, updated_at = ? WHERE name = ?", value, now, name);
+    if (updated == 0) {
+      jdbcTemplate.update(
+          "INSERT INTO sync_state (name, high_water_mark, updated_at) VALUES (?, ?, ?)", name, value, now);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.sadok.sportivo.users.sync;
+
+import java.util.UUID;
+
+/**
+ * A change made to a user directly in the identity provider. Profile values
+ * are the state after the change and {@code null} when unknown.
+ *
+ * @param time      when the change happened, epoch milliseconds
+ * @param actorId   who made the change, if it was a user of this realm
+ */
+public record UserAdminEvent(
+    long time,
+    Operation operation,
+    UUID userId,
+    String email,
+    String firstName,
+    String lastName,
+    UUID actorId) {
+
+  public enum Operation {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+}
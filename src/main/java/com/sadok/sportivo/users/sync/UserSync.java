@@ -0,0 +1,221 @@
+package com.sadok.sportivo.users.sync;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.sadok.sportivo.users.User;
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+import com.sadok.sportivo.users.sync.UserAdminEvent.Operation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies changes made directly in Keycloak (console edits, deletions) to the
+ * local {@code users} table.
+ *
+ * <p>
+ * Each run reads only the admin events since the persisted high-water mark,
+ * so the cost follows the number of changes, not the number of users.
+ * Events are applied in batches of {@code batchSize}: one
+ * {@code findAllById} per batch, and the mark is saved in the same
+ * transaction. Profile edits and deletions publish the usual
+ * {@code UserEvent}s, so audit, change feed and broker consumers see them.
+ * Creations are ignored: a user created outside this service has no local
+ * role assignment to import. Deleted users are soft-deleted and finished by
+ * {@code UserPurger} like any other deletion.
+ * </p>
+ *
+ * <p>
+ * On the very first run the mark starts at the current time; everything
+ * before it was already in sync through this service's own API.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UserSyncProperties.class)
+public class UserSync {
+
+  static final String STATE_NAME = "keycloak-admin-events";
+
+  private final AdminEventSource source;
+  private final SyncStateRepository syncStateRepository;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionOperations transactionOperations;
+  private final UserSyncProperties properties;
+
+  private final AtomicLong highWaterMark = new AtomicLong();
+  private final Timer lag;
+  private final Counter applied;
+  private final Counter ignored;
+  private final Counter failedPolls;
+
+  public UserSync(AdminEventSource source, SyncStateRepository syncStateRepository, UserRepository userRepository,
+      ApplicationEventPublisher eventPublisher, TransactionOperations transactionOperations,
+      UserSyncProperties properties, MeterRegistry meterRegistry) {
+    this.source = source;
+    this.syncStateRepository = syncStateRepository;
+    this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
+    this.transactionOperations = transactionOperations;
+    this.properties = properties;
+    Gauge.builder("sportivo.users.sync.high-water-mark.age", highWaterMark,
+        mark -> mark.get() == 0 ? 0 : (System.currentTimeMillis() - mark.get()) / 1000.0)
+        .description("Seconds since the newest Keycloak change applied locally")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    this.lag = Timer.builder("sportivo.users.sync.lag")
+        .description("Delay between a change in Keycloak and its local application")
+        .register(meterRegistry);
+    this.applied = events(meterRegistry, "applied");
+    this.ignored = events(meterRegistry, "ignored");
+    this.failedPolls = Counter.builder("sportivo.users.sync.failures")
+        .description("Keycloak admin event polls that failed")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.users.sync.interval:10s}", initialDelayString = "${app.users.sync.interval:10s}")
+  void scheduledSync() {
+    if (!properties.enabled()) {
+      return;
+    }
+    try {
+      sync();
+    } catch (RuntimeException ex) {
+      failedPolls.increment();
+      log.warn("Keycloak admin event sync failed; retrying next run", ex);
+    }
+  }
+
+  /** Reads and applies the events since the high-water mark; returns the number applied. */
+  public int sync() {
+    OptionalLong stored = syncStateRepository.findHighWaterMark(STATE_NAME);
+    if (stored.isEmpty()) {
+      long now = System.currentTimeMillis();
+      transactionOperations.executeWithoutResult(status -> syncStateRepository.saveHighWaterMark(STATE_NAME, now));
+      highWaterMark.set(now);
+      log.info("Keycloak admin event sync starts from {}", Instant.ofEpochMilli(now));
+      return 0;
+    }
+    highWaterMark.set(stored.getAsLong());
+
+    List<UserAdminEvent> events = source.fetchSince(stored.getAsLong());
+    int total = 0;
+    for (int from = 0; from < events.size(); from += properties.batchSize()) {
+      List<UserAdminEvent> batch = events.subList(from, Math.min(from + properties.batchSize(), events.size()));
+      long batchMark = batch.getLast().time();
+      total += Objects.requireNonNull(transactionOperations.execute(status -> {
+        int count = apply(batch);
+        syncStateRepository.saveHighWaterMark(STATE_NAME, batchMark);
+        return count;
+      }));
+      highWaterMark.set(batchMark);
+    }
+    if (total > 0) {
+      log.info("Applied {} Keycloak change(s) to local users", total);
+    }
+    return total;
+  }
+
+  private int apply(List<UserAdminEvent> batch) {
+    List<UUID> updatedIds = batch.stream()
+        .filter(event -> event.operation() == Operation.UPDATE)
+        .map(UserAdminEvent::userId)
+        .distinct()
+        .toList();
+    Map<UUID, User> users = updatedIds.isEmpty() ? Map.of()
+        : userRepository.findAllById(updatedIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    Set<User> dirty = new LinkedHashSet<>();
+    int count = 0;
+    long now = System.currentTimeMillis();
+    for (UserAdminEvent event : batch) {
+      boolean changed = switch (event.operation()) {
+        case UPDATE -> applyUpdate(event, users.get(event.userId()), dirty);
+        case DELETE -> applyDelete(event);
+        case CREATE -> false;
+      };
+      if (changed) {
+        count++;
+        applied.increment();
+        lag.record(Duration.ofMillis(Math.max(0, now - event.time())));
+      } else {
+        ignored.increment();
+      }
+    }
+    if (!dirty.isEmpty()) {
+      userRepository.saveAll(dirty);
+    }
+    return count;
+  }
+
+  private boolean applyUpdate(UserAdminEvent event, User user, Set<User> dirty) {
+    if (user == null) {
+      return false;
+    }
+    Set<UserField> changed = EnumSet.noneOf(UserField.class);
+    if (event.email() != null && !event.email().equalsIgnoreCase(user.getEmail())) {
+      user.setEmail(event.email());
+      changed.add(UserField.EMAIL);
+    }
+    if (event.firstName() != null && !event.firstName().equals(user.getFirstName())) {
+      user.setFirstName(event.firstName());
+      changed.add(UserField.FIRST_NAME);
+    }
+    if (event.lastName() != null && !event.lastName().equals(user.getLastName())) {
+      user.setLastName(event.lastName());
+      changed.add(UserField.LAST_NAME);
+    }
+    if (changed.isEmpty()) {
+      return false;
+    }
+    dirty.add(user);
+    eventPublisher.publishEvent(new UserUpdatedEvent(
+        user.getId(),
+        changed,
+        changed.contains(UserField.EMAIL) ? user.getEmail() : null,
+        changed.contains(UserField.FIRST_NAME) ? user.getFirstName() : null,
+        changed.contains(UserField.LAST_NAME) ? user.getLastName() : null,
+        event.actorId(),
+        Instant.ofEpochMilli(event.time())));
+    return true;
+  }
+
+  private boolean applyDelete(UserAdminEvent event) {
+    if (userRepository.softDelete(event.userId(), Instant.now()) == 0) {
+      return false;
+    }
+    eventPublisher.publishEvent(new UserDeletedEvent(event.userId(), event.actorId(), Instant.ofEpochMilli(event.time())));
+    return true;
+  }
+
+  private static Counter events(MeterRegistry registry, String outcome) {
+    return Counter.builder("sportivo.users.sync.events")
+        .description("Keycloak admin events processed, by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
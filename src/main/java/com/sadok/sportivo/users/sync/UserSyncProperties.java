@@ -0,0 +1,19 @@
+package com.sadok.sportivo.users.sync;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled   whether the scheduled sync runs; needs admin events
+ *                  enabled on the Keycloak realm
+ * @param interval  delay between polls
+ * @param batchSize events applied per transaction
+ */
+@ConfigurationProperties(prefix = "app.users.sync")
+public record UserSyncProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10s") Duration interval,
+    @DefaultValue("100") int batchSize) {
+}
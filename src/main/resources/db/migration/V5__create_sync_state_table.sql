@@ -0,0 +1,8 @@
+-- Persisted high-water marks of incremental sync workers (one row per source).
+-- The Keycloak admin event sync stores the time (epoch ms) of the last event
+-- it applied, in the same transaction as the applied changes.
+CREATE TABLE IF NOT EXISTS sync_state (
+    name            VARCHAR(64) PRIMARY KEY,
+    high_water_mark BIGINT      NOT NULL,
+    updated_at      TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Last authenticated request per user, written in batches by LastSeenTracker.
+-- Not indexed: it is only ever read alongside the rest of the row.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
@@ -0,0 +1,15 @@
+-- Transactional outbox for user_audit. UserAuditWriter inserts a row here in
+-- the same transaction as the user change, then relays rows into user_audit
+-- while holding the sync_state lock row below, so user_audit ids follow relay
+-- commit order even with several instances.
+CREATE TABLE IF NOT EXISTS user_audit_outbox (
+    id              BIGINT      GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         UUID        NOT NULL,
+    action          VARCHAR(16) NOT NULL,
+    changed_fields  VARCHAR(64),
+    actor_id        UUID,
+    changed_at      TIMESTAMP   NOT NULL
+);
+
+INSERT INTO sync_state (name, high_water_mark, updated_at)
+VALUES ('user-audit-relay', 0, CURRENT_TIMESTAMP);
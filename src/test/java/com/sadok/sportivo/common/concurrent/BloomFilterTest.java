@@ -0,0 +1,54 @@
+package com.sadok.sportivo.common.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BloomFilter")
+class BloomFilterTest {
+
+  private static final int ENTRIES = 100_000;
+
+  @Test
+  @DisplayName("never reports an inserted value as absent")
+  void noFalseNegatives() {
+    BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+    IntStream.range(0, ENTRIES).parallel().forEach(i -> filter.put("user" + i + "@sportivo.test"));
+
+    assertThat(IntStream.range(0, ENTRIES).allMatch(i -> filter.mightContain("user" + i + "@sportivo.test")))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("keeps the false-positive rate near the target at capacity")
+  void falsePositiveRateNearTarget() {
+    BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+    IntStream.range(0, ENTRIES).forEach(i -> filter.put("u:athlete" + i));
+
+    long falsePositives = IntStream.range(0, ENTRIES).filter(i -> filter.mightContain("u:coach" + i)).count();
+
+    assertThat((double) falsePositives / ENTRIES).isLessThan(0.015);
+    assertThat(filter.expectedFpp()).isBetween(0.005, 0.015);
+    assertThat(filter.memoryBytes()).isLessThan(ENTRIES * 2L);
+  }
+
+  @Test
+  @DisplayName("put reports whether the value was new")
+  void putReportsChange() {
+    BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+    assertThat(filter.put("alice")).isTrue();
+    assertThat(filter.put("alice")).isFalse();
+  }
+
+  @Test
+  @DisplayName("rejects impossible sizing")
+  void rejectsInvalidSizing() {
+    assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,22 @@
+package com.sadok.sportivo.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+
+@DisplayName("RabbitMQConfig")
+class RabbitMQConfigTest {
+
+  @Test
+  @DisplayName("dead-letters messages rejected from the main queue to the DLQ")
+  void mainQueueDeadLetters() {
+    Queue queue = new RabbitMQConfig().queue();
+
+    assertThat(queue.isDurable()).isTrue();
+    assertThat(queue.getArguments())
+        .containsEntry("x-dead-letter-exchange", RabbitMQConfig.DEAD_LETTER_EXCHANGE_NAME)
+        .containsEntry("x-dead-letter-routing-key", RabbitMQConfig.DEAD_LETTER_QUEUE_NAME);
+  }
+}
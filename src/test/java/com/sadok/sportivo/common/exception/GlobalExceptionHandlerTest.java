@@ -0,0 +1,63 @@
+package com.sadok.sportivo.common.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sadok.sportivo.common.MessageService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+
+@DisplayName("GlobalExceptionHandler")
+class GlobalExceptionHandlerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private GlobalExceptionHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    handler = new GlobalExceptionHandler(mock(MessageService.class), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("times the error path from the moment the exception was raised")
+  void timesFromRaise() throws InterruptedException {
+    ResourceNotFoundException ex = new ResourceNotFoundException("missing");
+    Thread.sleep(20);
+
+    handler.handleNotFound(ex);
+
+    Timer timer = meterRegistry.get("sportivo.errors.handling").tag("type", "not-found").timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+    assertThat(meterRegistry.get("sportivo.errors").tag("type", "not-found").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("times exceptions without a raise timestamp from handler entry")
+  void timesKeycloakErrors() {
+    handler.handleKeycloak(new KeycloakException("down"));
+
+    assertThat(meterRegistry.get("sportivo.errors").tag("type", "keycloak-error").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("sportivo.errors.handling").tag("type", "keycloak-error").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("times validation failures")
+  void timesValidationErrors() {
+    handler.handleConstraintViolation(new ConstraintViolationException("invalid", Set.of()));
+
+    assertThat(meterRegistry.get("sportivo.errors.handling").tag("type", "validation-error").timer().count())
+        .isEqualTo(1);
+  }
+}
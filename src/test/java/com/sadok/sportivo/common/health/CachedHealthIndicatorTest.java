@@ -0,0 +1,92 @@
+package com.sadok.sportivo.common.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+@DisplayName("CachedHealthIndicator")
+class CachedHealthIndicatorTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("serves the last result without calling the delegate")
+  void servesCachedResult() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    CachedHealthIndicator indicator = new CachedHealthIndicator(() -> {
+      calls.incrementAndGet();
+      return Health.up().withDetail("database", "H2").build();
+    }, Duration.ofSeconds(1));
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+    indicator.refresh(executor);
+    awaitStatus(indicator, Status.UP);
+
+    for (int i = 0; i < 100; i++) {
+      indicator.health();
+    }
+    assertThat(calls).hasValue(1);
+    assertThat(indicator.health().getDetails()).containsEntry("database", "H2").containsKey("durationMs");
+  }
+
+  @Test
+  @DisplayName("reports DOWN on timeout and never stacks hung checks")
+  void timesOut() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    CachedHealthIndicator indicator = new CachedHealthIndicator(() -> {
+      calls.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return Health.up().build();
+    }, Duration.ofMillis(50));
+
+    indicator.refresh(executor);
+    awaitStatus(indicator, Status.DOWN);
+    indicator.refresh(executor);
+    indicator.refresh(executor);
+
+    assertThat(calls).hasValue(1);
+    assertThat(indicator.health().getDetails()).containsEntry("error", "timed out after PT0.05S");
+    release.countDown();
+  }
+
+  @Test
+  @DisplayName("reports DOWN with the error when the check throws")
+  void failedCheck() throws InterruptedException {
+    CachedHealthIndicator indicator = new CachedHealthIndicator(() -> {
+      throw new IllegalStateException("connection refused");
+    }, Duration.ofSeconds(1));
+
+    indicator.refresh(executor);
+
+    awaitStatus(indicator, Status.DOWN);
+    assertThat(indicator.health().getDetails().get("error").toString()).contains("connection refused");
+  }
+
+  private static void awaitStatus(CachedHealthIndicator indicator, Status status) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!indicator.health().getStatus().equals(status) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(indicator.health().getStatus()).isEqualTo(status);
+  }
+}
@@ -0,0 +1,76 @@
+package com.sadok.sportivo.common.i18n;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sadok.sportivo.common.config.I18nConfig;
+
+@DisplayName("MessageCatalog")
+class MessageCatalogTest {
+
+  private final MessageCatalog catalog = MessageCatalog.load("messages", I18nConfig.SUPPORTED_LOCALES,
+      Locale.ENGLISH);
+
+  @Test
+  @DisplayName("formats every key exactly like MessageFormat")
+  void matchesMessageFormat() {
+    UUID id = UUID.randomUUID();
+    for (Locale locale : catalog.locales()) {
+      for (String key : catalog.keys()) {
+        String pattern = catalog.pattern(key, locale);
+        if (pattern.contains("{min}") || pattern.contains("{max}")) {
+          continue; // Bean Validation placeholders, never formatted by us
+        }
+        assertThat(catalog.format(key, locale, id))
+            .as("%s [%s]", key, locale)
+            .isEqualTo(new MessageFormat(pattern, locale).format(new Object[] { id }));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("unescapes doubled quotes in French messages")
+  void frenchQuotes() {
+    assertThat(catalog.format("error.username.taken", Locale.FRENCH, "alice"))
+        .isEqualTo("Nom d'utilisateur déjà pris : alice");
+  }
+
+  @Test
+  @DisplayName("falls back to the default locale for unsupported locales")
+  void fallback() {
+    assertThat(catalog.format("error.user.notFound", Locale.GERMAN, "42"))
+        .isEqualTo("User not found [id=42]");
+    assertThat(catalog.format("error.user.notFound", Locale.CANADA_FRENCH, "42"))
+        .isEqualTo("Utilisateur introuvable [id=42]");
+  }
+
+  @Test
+  @DisplayName("returns null for unknown keys")
+  void unknownKey() {
+    assertThat(catalog.format("no.such.key", Locale.ENGLISH)).isNull();
+  }
+
+  @Test
+  @DisplayName("reuses one MessageFormat per key and locale")
+  void cachesMessageFormat() {
+    MessageFormat first = catalog.messageFormat("error.user.notFound", Locale.FRENCH);
+
+    assertThat(catalog.messageFormat("error.user.notFound", Locale.FRENCH)).isSameAs(first);
+    assertThat(catalog.messageFormat("error.user.notFound", Locale.ENGLISH)).isNotSameAs(first);
+  }
+
+  @Test
+  @DisplayName("renders Bean Validation placeholders verbatim through MessageFormat")
+  void messageFormatKeepsUnparseablePatterns() {
+    MessageFormat format = catalog.messageFormat("validation.username.size", Locale.ENGLISH);
+
+    assertThat(format.format(new Object[] { 3, 50 }))
+        .isEqualTo("Username must be between {min} and {max} characters");
+  }
+}
@@ -0,0 +1,27 @@
+package com.sadok.sportivo.common.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+@DisplayName("DatabaseVendor")
+class DatabaseVendorTest {
+
+  @Test
+  @DisplayName("detects H2 as not PostgreSQL")
+  void h2IsNotPostgres() {
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    try {
+      assertThat(new DatabaseVendor(database).isPostgres()).isFalse();
+    } finally {
+      database.shutdown();
+    }
+  }
+}
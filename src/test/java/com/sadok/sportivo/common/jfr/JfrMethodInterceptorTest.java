@@ -0,0 +1,78 @@
+package com.sadok.sportivo.common.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayName("JfrMethodInterceptor")
+class JfrMethodInterceptorTest {
+
+  private static final String EVENT_NAME = "com.sadok.sportivo.UserOperation";
+
+  @TempDir
+  Path tempDir;
+
+  public static class Target {
+
+    public String getUserById(UUID id) {
+      return id.toString();
+    }
+
+    public void deleteUser(UUID id) {
+      throw new IllegalStateException("boom");
+    }
+  }
+
+  @Test
+  @DisplayName("records operation, user id and outcome of each call")
+  void recordsEvents() throws Exception {
+    Target proxy = proxy();
+    UUID id = UUID.randomUUID();
+    Path file = tempDir.resolve("test.jfr");
+
+    try (Recording recording = new Recording()) {
+      recording.enable(UserOperationEvent.class);
+      recording.start();
+      proxy.getUserById(id);
+      assertThatThrownBy(() -> proxy.deleteUser(id)).isInstanceOf(IllegalStateException.class);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+        .toList();
+    assertThat(events).extracting(event -> event.getString("operation"))
+        .containsExactly("getUserById", "deleteUser");
+    assertThat(events).extracting(event -> event.getString("outcome"))
+        .containsExactly("success", "IllegalStateException");
+    assertThat(events).allSatisfy(event -> assertThat(event.getString("userId")).isEqualTo(id.toString()));
+  }
+
+  @Test
+  @DisplayName("passes calls straight through without a recording")
+  void noRecording() {
+    UUID id = UUID.randomUUID();
+
+    assertThat(proxy().getUserById(id)).isEqualTo(id.toString());
+  }
+
+  private static Target proxy() {
+    ProxyFactory factory = new ProxyFactory(new Target());
+    factory.setProxyTargetClass(true);
+    factory.addAdvice(new JfrMethodInterceptor(UserOperationEvent::new));
+    return (Target) factory.getProxy();
+  }
+}
@@ -0,0 +1,70 @@
+package com.sadok.sportivo.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoggingMetrics")
+class LoggingMetricsTest {
+
+  private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+  private final Logger console = context.getLogger("logging-metrics-test.console");
+  private final Logger loki = context.getLogger("logging-metrics-test.loki");
+
+  @AfterEach
+  void detach() {
+    console.detachAndStopAllAppenders();
+    loki.detachAndStopAllAppenders();
+    console.setLevel(null);
+    loki.setLevel(null);
+  }
+
+  @Test
+  @DisplayName("counts shipped events per appender")
+  void perAppender() {
+    // other tests may leave the root logger above INFO
+    console.setLevel(Level.INFO);
+    loki.setLevel(Level.INFO);
+    console.addAppender(appender("TEST_CONSOLE"));
+    loki.addAppender(appender("TEST_LOKI"));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new LoggingMetrics().bindTo(registry);
+
+    console.info("one");
+    console.info("two");
+    loki.warn("three");
+
+    assertThat(shipped(registry, "TEST_CONSOLE")).isEqualTo(2);
+    assertThat(shipped(registry, "TEST_LOKI")).isEqualTo(1);
+  }
+
+  private DropAwareAsyncAppender appender(String name) {
+    ListAppender<ILoggingEvent> sink = new ListAppender<>();
+    sink.setContext(context);
+    sink.start();
+    DropAwareAsyncAppender appender = new DropAwareAsyncAppender();
+    appender.setContext(context);
+    appender.setName(name);
+    appender.addAppender(sink);
+    appender.start();
+    return appender;
+  }
+
+  private static double shipped(SimpleMeterRegistry registry, String appender) {
+    return registry.get("sportivo.logging.events")
+        .tag("appender", appender)
+        .tag("outcome", "shipped")
+        .functionCounter()
+        .count();
+  }
+}
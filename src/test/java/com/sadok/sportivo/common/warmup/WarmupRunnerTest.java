@@ -0,0 +1,73 @@
+package com.sadok.sportivo.common.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.token.TokenManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "app.warmup.enabled=true",
+    "app.warmup.iterations=1",
+    "app.warmup.timeout=10s"
+})
+@DisplayName("WarmupRunner")
+class WarmupRunnerTest {
+
+  @Autowired
+  ApplicationAvailability applicationAvailability;
+  @Autowired
+  List<ReadinessState> readinessDuringWarmup;
+  @MockitoBean
+  KeycloakAdminService keycloakAdminService;
+  @MockitoBean
+  RabbitMqProducer rabbitMqProducer;
+
+  @Test
+  @DisplayName("keeps readiness refusing traffic until warmup returns")
+  void readinessWaitsForWarmup() {
+    assertThat(readinessDuringWarmup).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+    assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+  }
+
+  @TestConfiguration
+  static class ReadinessProbe {
+
+    @Bean
+    List<ReadinessState> readinessDuringWarmup() {
+      return new CopyOnWriteArrayList<>();
+    }
+
+    /** Records the readiness state from inside the Keycloak warmup step. */
+    @Bean
+    @Primary
+    Keycloak warmupKeycloak(ApplicationAvailability applicationAvailability,
+        List<ReadinessState> readinessDuringWarmup) {
+      Keycloak keycloak = mock(Keycloak.class);
+      when(keycloak.tokenManager()).thenAnswer(invocation -> {
+        readinessDuringWarmup.add(applicationAvailability.getReadinessState());
+        return mock(TokenManager.class);
+      });
+      return keycloak;
+    }
+  }
+}
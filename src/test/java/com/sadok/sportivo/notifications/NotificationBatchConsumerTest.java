@@ -0,0 +1,145 @@
+package com.sadok.sportivo.notifications;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.sadok.sportivo.common.config.RabbitMQConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationBatchConsumer")
+class NotificationBatchConsumerTest {
+
+  private static final String WELCOME = "sportivo.notifications.email.welcome";
+  private static final String RESET = "sportivo.notifications.email.reset";
+
+  @Mock
+  NotificationProcessor processor;
+
+  private InMemoryBroker broker;
+  private SimpleMeterRegistry meterRegistry;
+  private NotificationBatchConsumer consumer;
+
+  @BeforeEach
+  void setUp() {
+    broker = new InMemoryBroker();
+    meterRegistry = new SimpleMeterRegistry();
+    NotificationConsumerProperties props = new NotificationConsumerProperties(
+        true, 100, Duration.ofMillis(200), 250, 1, 8, 5, Duration.ofSeconds(2), 3, Duration.ofSeconds(10));
+    consumer = new NotificationBatchConsumer(processor, broker, props, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("processes a batch in one call per routing key")
+  void groupsByRoutingKey() {
+    consumer.onBatch(List.of(message(WELCOME, "a"), message(RESET, "b"), message(WELCOME, "c")));
+
+    then(processor).should().process(eq(WELCOME), argThat(group -> group.size() == 2));
+    then(processor).should().process(eq(RESET), argThat(group -> group.size() == 1));
+    assertThat(consumed("processed")).isEqualTo(3);
+    assertThat(broker.published).isEmpty();
+  }
+
+  @Test
+  @DisplayName("isolates a poison message, retries it with delay and finally dead-letters it")
+  void poisonMessageIsRetriedThenDeadLettered() {
+    willAnswer(inv -> {
+      List<Message> group = inv.getArgument(1);
+      if (group.stream().anyMatch(m -> body(m).equals("poison"))) {
+        throw new IllegalStateException("cannot render template");
+      }
+      return null;
+    }).given(processor).process(any(), anyList());
+
+    consumer.onBatch(List.of(message(WELCOME, "ok-1"), message(WELCOME, "poison"), message(WELCOME, "ok-2")));
+
+    assertThat(consumed("processed")).isEqualTo(2);
+    assertThat(broker.queue(RabbitMQConfig.RETRY_QUEUE_NAME)).hasSize(1);
+
+    // the broker redelivers the expired retry back to sportivo.queue, twice
+    consumer.onBatch(broker.expireRetries());
+    consumer.onBatch(broker.expireRetries());
+
+    assertThat(broker.queue(RabbitMQConfig.RETRY_QUEUE_NAME)).isEmpty();
+    assertThat(broker.queue(RabbitMQConfig.DEAD_LETTER_QUEUE_NAME)).singleElement()
+        .satisfies(m -> {
+          assertThat(body(m)).isEqualTo("poison");
+          assertThat(m.getMessageProperties().<Integer>getHeader(NotificationBatchConsumer.ATTEMPT_HEADER))
+              .isEqualTo(3);
+        });
+    assertThat(consumed("retried")).isEqualTo(2);
+    assertThat(consumed("dead-lettered")).isEqualTo(1);
+    // redeliveries are still grouped under the original routing key
+    then(processor).should(times(3)).process(eq(WELCOME),
+        argThat(group -> group.size() == 1 && body(group.get(0)).equals("poison")));
+  }
+
+  private double consumed(String outcome) {
+    return meterRegistry.get("sportivo.notifications.consumed").tag("outcome", outcome).counter().count();
+  }
+
+  private static Message message(String routingKey, String body) {
+    MessageProperties props = new MessageProperties();
+    props.setReceivedRoutingKey(routingKey);
+    return new Message(body.getBytes(StandardCharsets.UTF_8), props);
+  }
+
+  private static String body(Message message) {
+    return new String(message.getBody(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Broker stand-in: records what the consumer republishes per destination
+   * queue and can replay the retry queue the way RabbitMQ does once the
+   * message TTL expires (dead-lettered through the default exchange back to
+   * {@code sportivo.queue}).
+   */
+  static class InMemoryBroker extends RabbitTemplate {
+
+    final List<Message> published = new ArrayList<>();
+    private final Map<String, Deque<Message>> queues = new HashMap<>();
+
+    @Override
+    public void send(String exchange, String routingKey, Message message) {
+      published.add(message);
+      queue(routingKey).add(message);
+    }
+
+    Deque<Message> queue(String name) {
+      return queues.computeIfAbsent(name, k -> new ArrayDeque<>());
+    }
+
+    List<Message> expireRetries() {
+      List<Message> expired = new ArrayList<>(queue(RabbitMQConfig.RETRY_QUEUE_NAME));
+      queue(RabbitMQConfig.RETRY_QUEUE_NAME).clear();
+      expired.forEach(m -> m.getMessageProperties().setReceivedRoutingKey(RabbitMQConfig.QUEUE_NAME));
+      return expired;
+    }
+  }
+}
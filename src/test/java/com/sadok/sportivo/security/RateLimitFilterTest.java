@@ -0,0 +1,35 @@
+package com.sadok.sportivo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@DisplayName("RateLimitFilter")
+class RateLimitFilterTest {
+
+  @Test
+  @DisplayName("charges GET, HEAD and OPTIONS to the read budget")
+  void safeMethodsAreReads() {
+    assertThat(RateLimitFilter.isRead(request("GET", "", "/api/v1/users"))).isTrue();
+    assertThat(RateLimitFilter.isRead(request("HEAD", "", "/api/v1/users"))).isTrue();
+    assertThat(RateLimitFilter.isRead(request("OPTIONS", "", "/api/v1/users"))).isTrue();
+    assertThat(RateLimitFilter.isRead(request("POST", "", "/api/v1/users"))).isFalse();
+    assertThat(RateLimitFilter.isRead(request("DELETE", "", "/api/v1/users/1"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("treats the lookup POST as a read, with or without a context path")
+  void lookupIsReadUnderContextPath() {
+    assertThat(RateLimitFilter.isRead(request("POST", "", "/api/v1/users/lookup"))).isTrue();
+    assertThat(RateLimitFilter.isRead(request("POST", "/sportivo", "/api/v1/users/lookup"))).isTrue();
+  }
+
+  private static MockHttpServletRequest request(String method, String contextPath, String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, contextPath + path);
+    request.setContextPath(contextPath);
+    request.setServletPath(path);
+    return request;
+  }
+}
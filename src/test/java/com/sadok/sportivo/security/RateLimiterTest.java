@@ -0,0 +1,78 @@
+package com.sadok.sportivo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sadok.sportivo.security.RateLimitProperties.Budget;
+import com.sadok.sportivo.security.RateLimiter.Kind;
+
+@DisplayName("RateLimiter")
+class RateLimiterTest {
+
+  @Test
+  @DisplayName("token bucket grants exactly its capacity, then reports the wait")
+  void bucketGrantsCapacity() {
+    long interval = TimeUnit.MILLISECONDS.toNanos(100);
+    TokenBucket bucket = new TokenBucket(3, interval, 0);
+
+    assertThat(bucket.tryAcquire(0)).isZero();
+    assertThat(bucket.tryAcquire(0)).isZero();
+    assertThat(bucket.tryAcquire(0)).isZero();
+    assertThat(bucket.tryAcquire(0)).isEqualTo(interval);
+
+    assertThat(bucket.tryAcquire(interval)).isZero();
+    assertThat(bucket.isFull(interval)).isFalse();
+    assertThat(bucket.isFull(4 * interval)).isTrue();
+  }
+
+  @Test
+  @DisplayName("read and write budgets are separate and per key")
+  void separateBudgets() {
+    RateLimiter limiter = new RateLimiter(new RateLimitProperties(true,
+        new Budget(5, Duration.ofHours(1)), new Budget(1, Duration.ofHours(1)), Duration.ofHours(1)));
+
+    assertThat(limiter.tryAcquire("alice", Kind.WRITE)).isZero();
+    assertThat(limiter.tryAcquire("alice", Kind.WRITE)).isPositive();
+    assertThat(limiter.tryAcquire("alice", Kind.READ)).isZero();
+    assertThat(limiter.tryAcquire("bob", Kind.WRITE)).isZero();
+    assertThat(limiter.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("concurrent callers never get more than the capacity")
+  void concurrentAcquireIsExact() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(new RateLimitProperties(true,
+        new Budget(100, Duration.ofHours(1)), new Budget(1, Duration.ofHours(1)), Duration.ofHours(1)));
+    AtomicInteger granted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int t = 0; t < 8; t++) {
+        executor.execute(() -> {
+          try {
+            start.await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("alice", Kind.READ) == 0) {
+              granted.incrementAndGet();
+            }
+          }
+        });
+      }
+      start.countDown();
+    }
+
+    assertThat(granted.get()).isEqualTo(100);
+  }
+}
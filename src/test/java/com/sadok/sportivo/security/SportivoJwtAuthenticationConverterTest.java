@@ -0,0 +1,66 @@
+package com.sadok.sportivo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import com.sadok.sportivo.users.UserRole;
+
+@DisplayName("SportivoJwtAuthenticationConverter")
+class SportivoJwtAuthenticationConverterTest {
+
+  private final SportivoJwtAuthenticationConverter converter = new SportivoJwtAuthenticationConverter();
+
+  @Test
+  @DisplayName("builds the principal and keeps every realm role as an authority")
+  void convertsToken() {
+    UUID userId = UUID.randomUUID();
+    Jwt jwt = jwt(userId.toString())
+        .claim("preferred_username", "alice")
+        .claim("locale", "fr")
+        .claim("realm_access", Map.of("roles", List.of("admin", "offline_access")))
+        .build();
+
+    SportivoAuthenticationToken token = converter.convert(jwt);
+
+    SportivoPrincipal principal = token.getPrincipal();
+    assertThat(principal.userId()).isEqualTo(userId);
+    assertThat(principal.username()).isEqualTo("alice");
+    assertThat(principal.roles()).containsExactly(UserRole.ADMIN);
+    assertThat(principal.locale()).isEqualTo(Locale.FRENCH);
+    assertThat(token.getName()).isEqualTo(userId.toString());
+    assertThat(token.getToken()).isSameAs(jwt);
+    assertThat(token.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_admin", "ROLE_offline_access");
+  }
+
+  @Test
+  @DisplayName("token without realm roles or locale yields an empty role set")
+  void convertsMinimalToken() {
+    SportivoPrincipal principal = converter.convert(jwt(UUID.randomUUID().toString()).build()).getPrincipal();
+
+    assertThat(principal.roles()).isEmpty();
+    assertThat(principal.locale()).isNull();
+  }
+
+  @Test
+  @DisplayName("rejects a subject that is not a UUID")
+  void rejectsNonUuidSubject() {
+    assertThatThrownBy(() -> converter.convert(jwt("service-account").build()))
+        .isInstanceOf(InvalidBearerTokenException.class);
+  }
+
+  private static Jwt.Builder jwt(String subject) {
+    return Jwt.withTokenValue("token").header("alg", "none").subject(subject);
+  }
+}
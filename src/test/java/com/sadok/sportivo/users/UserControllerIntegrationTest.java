@@ -26,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
@@ -68,6 +69,8 @@ class UserControllerIntegrationTest {
   WebApplicationContext context;
   @Autowired
   UserRepository userRepository;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
   @MockitoBean
   JwtDecoder jwtDecoder;
 
@@ -91,7 +94,8 @@ class UserControllerIntegrationTest {
 
   @AfterEach
   void cleanDb() {
-    userRepository.deleteAll();
+    // hard delete: soft-deleted rows are invisible to the repository
+    jdbcTemplate.update("DELETE FROM users");
   }
 
   // -------------------------------------------------------------------------
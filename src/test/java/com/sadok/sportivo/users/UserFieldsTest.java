@@ -0,0 +1,35 @@
+package com.sadok.sportivo.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sadok.sportivo.common.exception.InvalidFieldsException;
+
+@DisplayName("UserFields")
+class UserFieldsTest {
+
+  @Test
+  @DisplayName("whitelist is the UserResponse component list")
+  void whitelistMatchesResponse() {
+    assertThat(UserFields.ALLOWED).containsExactly(
+        "id", "username", "email", "firstName", "lastName", "role", "createdAt", "updatedAt", "lastSeenAt");
+  }
+
+  @Test
+  @DisplayName("always includes id and keeps response order")
+  void parsesSelection() {
+    assertThat(UserFields.parse("lastName, firstName,,lastName").names())
+        .containsExactly("id", "firstName", "lastName");
+  }
+
+  @Test
+  @DisplayName("rejects fields outside the whitelist")
+  void rejectsUnknownFields() {
+    assertThatThrownBy(() -> UserFields.parse("firstName,password,deletedAt"))
+        .isInstanceOfSatisfying(InvalidFieldsException.class,
+            ex -> assertThat(ex.getUnknown()).containsExactly("password", "deletedAt"));
+  }
+}
@@ -0,0 +1,119 @@
+package com.sadok.sportivo.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+
+/**
+ * Runs the {@code ?fields=} Criteria tuple queries against H2 and inspects
+ * the SQL Hibernate sends.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.sadok.sportivo.users.UserProjectionRepositoryTest$RecordingInspector")
+@DisplayName("UserProjectionRepository — integration")
+class UserProjectionRepositoryTest {
+
+  @Autowired
+  UserRepository userRepository;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+  @MockitoBean
+  KeycloakAdminService keycloakAdminService;
+  @MockitoBean
+  RabbitMqProducer rabbitMqProducer;
+
+  private UUID oldest;
+  private UUID middle;
+  private UUID newest;
+
+  @BeforeEach
+  void seed() {
+    oldest = save("oldest", Instant.parse("2026-01-01T00:00:00Z"));
+    middle = save("middle", Instant.parse("2026-02-01T00:00:00Z"));
+    newest = save("newest", Instant.parse("2026-03-01T00:00:00Z"));
+    RecordingInspector.SQL.clear();
+  }
+
+  @AfterEach
+  void cleanDb() {
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  @DisplayName("selects only the requested columns plus id")
+  void selectsRequestedColumns() {
+    List<Map<String, Object>> rows = userRepository.findAllByIdProjected(List.of(middle),
+        UserFields.parse("username"));
+
+    assertThat(rows).containsExactly(Map.of("id", middle, "username", "middle"));
+    String select = lastSelect();
+    assertThat(select).contains("username").contains(".id");
+    assertThat(select).doesNotContain("email", "first_name", "last_name", "role", "last_seen_at");
+  }
+
+  @Test
+  @DisplayName("lists newest first")
+  void newestFirst() {
+    List<Map<String, Object>> rows = userRepository.findAllProjected(UserFields.parse("username"));
+
+    assertThat(rows).extracting(row -> row.get("id")).containsExactly(newest, middle, oldest);
+  }
+
+  @Test
+  @DisplayName("keeps soft-deleted users hidden")
+  void hidesDeleted() {
+    userRepository.softDelete(middle, Instant.now());
+
+    assertThat(userRepository.findAllProjected(UserFields.parse("email")))
+        .extracting(row -> row.get("id")).containsExactly(newest, oldest);
+    assertThat(userRepository.findAllByIdProjected(List.of(middle, oldest), UserFields.parse("email")))
+        .extracting(row -> row.get("id")).containsExactly(oldest);
+    assertThat(lastSelect()).containsIgnoringCase("deleted_at is null");
+  }
+
+  private UUID save(String username, Instant createdAt) {
+    UUID id = userRepository.save(new User(UUID.randomUUID(), username, username + "@sportivo.test",
+        "First", "Last", UserRole.USER)).getId();
+    jdbcTemplate.update("UPDATE users SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), id);
+    return id;
+  }
+
+  private static String lastSelect() {
+    return RecordingInspector.SQL.stream()
+        .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+        .reduce((first, second) -> second)
+        .orElseThrow();
+  }
+
+  /** Registered with Hibernate by class name; collects every statement. */
+  public static class RecordingInspector implements StatementInspector {
+
+    static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      SQL.add(sql);
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.sadok.sportivo.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sadok.sportivo.common.RabbitMqProducer;
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+import com.sadok.sportivo.keycloak.KeycloakAdminService.UserCreationResult;
+import com.sadok.sportivo.users.dto.CreateUserRequest;
+import com.sadok.sportivo.users.purge.UserPurger;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Load test for the create saga in {@link UserService} and the Keycloak
+ * purge of deleted users in {@link UserPurger}.
+ *
+ * <p>
+ * Keycloak latency is artificially raised while the Hikari pool is kept
+ * deliberately small. Each scenario also runs a baseline that calls Keycloak
+ * inside a transaction, as the code did before the saga: there every call pins
+ * a connection for the whole Keycloak latency and the pool serialises the
+ * requests ({@code calls * latency / poolSize}). With the saga the remote calls
+ * overlap and only the short local transactions hold connections, so the same
+ * calls finish several times faster and occupy a fraction of the connection
+ * time.
+ * </p>
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=" + UserServiceConnectionPoolTest.POOL_SIZE,
+    "spring.datasource.hikari.connection-timeout=10000"
+})
+@DisplayName("UserService — connection pool under Keycloak latency")
+class UserServiceConnectionPoolTest {
+
+  static final int POOL_SIZE = 2;
+  private static final int CALLS = 24;
+  private static final Duration KEYCLOAK_LATENCY = Duration.ofMillis(250);
+
+  /** Wall-clock time the calls need when each one pins a connection. */
+  private static final Duration SERIALISED = KEYCLOAK_LATENCY.multipliedBy(CALLS / POOL_SIZE);
+
+  @Autowired
+  UserService userService;
+  @Autowired
+  UserRepository userRepository;
+  @Autowired
+  UserPurger userPurger;
+  @Autowired
+  DataSource dataSource;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+  @Autowired
+  TransactionTemplate transactionTemplate;
+  @MockitoBean
+  KeycloakAdminService keycloakAdminService;
+  @MockitoBean
+  RabbitMqProducer rabbitMqProducer;
+
+  private final AtomicInteger callsInsideTransaction = new AtomicInteger();
+
+  @AfterEach
+  void cleanDb() {
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  @DisplayName("createUser does not hold a connection while Keycloak is slow")
+  void createUserUnderKeycloakLatency() throws Exception {
+    given(keycloakAdminService.createUser(any())).willAnswer(inv -> {
+      slowKeycloakCall();
+      return new UserCreationResult(UUID.randomUUID(), "TmpPwd123!");
+    });
+
+    Load baseline = runConcurrently(i -> transactionTemplate.executeWithoutResult(status -> {
+      pinConnection();
+      userService.createUser(request("pinned" + i));
+    }));
+    int pinned = callsInsideTransaction.getAndSet(0);
+    Load saga = runConcurrently(i -> userService.createUser(request("load" + i)));
+
+    assertThat(userRepository.count()).isEqualTo(2L * CALLS);
+    assertThat(pinned).isEqualTo(CALLS);
+    assertThat(callsInsideTransaction).hasValue(0);
+    assertImproved(baseline, saga);
+  }
+
+  @Test
+  @DisplayName("deleteUser and the purge do not hold a connection while Keycloak is slow")
+  void deleteUserUnderKeycloakLatency() throws Exception {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 2 * CALLS; i++) {
+      ids.add(userRepository.save(new User(UUID.randomUUID(), "del" + i, "del" + i + "@sportivo.test",
+          "Del", "Test", UserRole.USER)).getId());
+    }
+    willAnswer(inv -> {
+      slowKeycloakCall();
+      return null;
+    }).given(keycloakAdminService).deleteUser(any());
+
+    Load baseline = runConcurrently(i -> transactionTemplate.executeWithoutResult(status -> {
+      userService.deleteUser(ids.get(CALLS + i));
+      keycloakAdminService.deleteUser(ids.get(CALLS + i));
+    }));
+    callsInsideTransaction.set(0);
+    Load saga = runConcurrently(i -> userService.deleteUser(ids.get(i)));
+
+    then(keycloakAdminService).should(times(CALLS)).deleteUser(any());
+    assertImproved(baseline, saga);
+
+    assertThat(userPurger.purgeDue()).isEqualTo(2 * CALLS);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isZero();
+    assertThat(callsInsideTransaction).hasValue(0);
+  }
+
+  /**
+   * The baseline is bound by the pool; the saga must finish within half of its
+   * time and keep connections busy for a fraction of the connection time.
+   */
+  private static void assertImproved(Load baseline, Load saga) {
+    assertThat(baseline.elapsed()).isGreaterThanOrEqualTo(SERIALISED.multipliedBy(9).dividedBy(10));
+    assertThat(baseline.connectionTime()).isGreaterThanOrEqualTo(SERIALISED.multipliedBy(POOL_SIZE * 8L).dividedBy(10));
+    assertThat(saga.elapsed()).isLessThan(baseline.elapsed().dividedBy(2));
+    assertThat(saga.connectionTime()).isLessThan(baseline.connectionTime().dividedBy(4));
+  }
+
+  private CreateUserRequest request(String username) {
+    return new CreateUserRequest(username, username + "@sportivo.test", "Load", "Test", UserRole.USER);
+  }
+
+  /** Makes the surrounding transaction take its connection before Keycloak is called. */
+  private void pinConnection() {
+    jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+  }
+
+  private void slowKeycloakCall() throws InterruptedException {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      callsInsideTransaction.incrementAndGet();
+    }
+    Thread.sleep(KEYCLOAK_LATENCY);
+  }
+
+  /** Runs {@link #CALLS} calls at once while sampling how many pool connections are in use. */
+  private Load runConcurrently(IndexedCall call) throws Exception {
+    HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+    AtomicBoolean done = new AtomicBoolean();
+    long[] samples = new long[2];
+    Thread sampler = Thread.ofPlatform().name("pool-sampler").start(() -> {
+      while (!done.get()) {
+        samples[0] += pool.getActiveConnections();
+        samples[1]++;
+        LockSupport.parkNanos(Duration.ofMillis(2).toNanos());
+      }
+    });
+    try (ExecutorService executor = Executors.newFixedThreadPool(CALLS)) {
+      long start = System.nanoTime();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLS; i++) {
+        int index = i;
+        futures.add(executor.submit(() -> call.run(index)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      done.set(true);
+      sampler.join();
+      return new Load(elapsed, samples[1] == 0 ? 0 : (double) samples[0] / samples[1]);
+    }
+  }
+
+  /** Wall-clock time of one run and the mean number of connections in use during it. */
+  private record Load(Duration elapsed, double meanActive) {
+
+    /** Connection time the run held the pool for, summed over connections. */
+    Duration connectionTime() {
+      return Duration.ofNanos((long) (elapsed.toNanos() * meanActive));
+    }
+  }
+
+  @FunctionalInterface
+  private interface IndexedCall {
+    void run(int index);
+  }
+}
@@ -3,33 +3,52 @@ package com.sadok.sportivo.users;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.sadok.sportivo.common.MessageService;
+import com.sadok.sportivo.common.concurrent.SingleFlight;
 import com.sadok.sportivo.common.exception.ResourceAlreadyExistsException;
 import com.sadok.sportivo.common.exception.ResourceNotFoundException;
 import com.sadok.sportivo.keycloak.KeycloakAdminService;
 import com.sadok.sportivo.keycloak.KeycloakAdminService.UserCreationResult;
-import com.sadok.sportivo.mail.MailService;
 import com.sadok.sportivo.users.dto.CreateUserRequest;
 import com.sadok.sportivo.users.dto.UpdateCredentialsRequest;
 import com.sadok.sportivo.users.dto.UpdateUserRequest;
+import com.sadok.sportivo.users.dto.UserLookupResponse;
 import com.sadok.sportivo.users.dto.UserResponse;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService")
@@ -42,9 +61,17 @@ class UserServiceTest {
   @Mock
   UserMapper userMapper;
   @Mock
-  MailService mailService;
-  @Mock
   MessageService messageService;
+  @Mock
+  ApplicationEventPublisher eventPublisher;
+  @Mock
+  AuditorAware<UUID> auditorAware;
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  @Spy
+  SingleFlight<UUID, UserResponse> userLoads = new SingleFlight<>("users", meterRegistry);
+  @Spy
+  TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
   @InjectMocks
   UserService userService;
@@ -61,7 +88,7 @@ class UserServiceTest {
 
     sampleResponse = new UserResponse(
         USER_ID, "alice", "alice@example.com", "Alice", "Smith",
-        UserRole.USER, sampleUser.getCreatedAt(), sampleUser.getUpdatedAt());
+        UserRole.USER, sampleUser.getCreatedAt(), sampleUser.getUpdatedAt(), null);
   }
 
   // -------------------------------------------------------------------------
@@ -80,8 +107,8 @@ class UserServiceTest {
     @Test
     @DisplayName("creates user in Keycloak then locally and returns response")
     void happyPath() {
-      given(userRepository.existsByUsername("alice")).willReturn(false);
-      given(userRepository.existsByEmail("alice@example.com")).willReturn(false);
+      given(userRepository.isUsernameTaken("alice")).willReturn(false);
+      given(userRepository.isEmailTaken("alice@example.com")).willReturn(false);
       given(keycloakAdminService.createUser(any())).willReturn(new UserCreationResult(USER_ID, "TmpPwd123!"));
       given(userRepository.save(any())).willReturn(sampleUser);
       given(userMapper.toResponse(sampleUser)).willReturn(sampleResponse);
@@ -96,7 +123,7 @@ class UserServiceTest {
     @Test
     @DisplayName("throws ResourceAlreadyExistsException when username is taken")
     void duplicateUsername() {
-      given(userRepository.existsByUsername("alice")).willReturn(true);
+      given(userRepository.isUsernameTaken("alice")).willReturn(true);
       given(messageService.get("error.username.taken", "alice")).willReturn("alice");
 
       assertThatThrownBy(() -> userService.createUser(validRequest()))
@@ -109,8 +136,8 @@ class UserServiceTest {
     @Test
     @DisplayName("throws ResourceAlreadyExistsException when email is taken")
     void duplicateEmail() {
-      given(userRepository.existsByUsername("alice")).willReturn(false);
-      given(userRepository.existsByEmail("alice@example.com")).willReturn(true);
+      given(userRepository.isUsernameTaken("alice")).willReturn(false);
+      given(userRepository.isEmailTaken("alice@example.com")).willReturn(true);
       given(messageService.get("error.email.registered", "alice@example.com")).willReturn("alice@example.com");
 
       assertThatThrownBy(() -> userService.createUser(validRequest()))
@@ -121,8 +148,8 @@ class UserServiceTest {
     @Test
     @DisplayName("deletes Keycloak user (compensating tx) when local save fails")
     void rollsBackKeycloakWhenLocalSaveFails() {
-      given(userRepository.existsByUsername("alice")).willReturn(false);
-      given(userRepository.existsByEmail("alice@example.com")).willReturn(false);
+      given(userRepository.isUsernameTaken("alice")).willReturn(false);
+      given(userRepository.isEmailTaken("alice@example.com")).willReturn(false);
       given(keycloakAdminService.createUser(any())).willReturn(new UserCreationResult(USER_ID, "TmpPwd123!"));
       given(userRepository.save(any())).willThrow(new RuntimeException("DB error"));
 
@@ -141,7 +168,7 @@ class UserServiceTest {
   @Test
   @DisplayName("getAllUsers returns mapped list")
   void getAllUsers() {
-    given(userRepository.findAll()).willReturn(List.of(sampleUser));
+    given(userRepository.findAll(any(Sort.class))).willReturn(List.of(sampleUser));
     given(userMapper.toResponse(sampleUser)).willReturn(sampleResponse);
 
     List<UserResponse> result = userService.getAllUsers();
@@ -171,6 +198,63 @@ class UserServiceTest {
         .isInstanceOf(ResourceNotFoundException.class);
   }
 
+  @Test
+  @DisplayName("getUserById coalesces concurrent calls for the same ID into one query")
+  void getUserById_coalescesConcurrentCalls() throws Exception {
+    int callers = 16;
+    CountDownLatch release = new CountDownLatch(1);
+    given(userRepository.findById(USER_ID)).willAnswer(inv -> {
+      release.await();
+      return Optional.of(sampleUser);
+    });
+    given(userMapper.toResponse(sampleUser)).willReturn(sampleResponse);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<UserResponse>> results = IntStream.range(0, callers)
+          .mapToObj(i -> executor.submit(() -> userService.getUserById(USER_ID)))
+          .toList();
+      long deadline = System.nanoTime() + 5_000_000_000L;
+      while (coalescedCalls() < callers - 1 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+
+      for (Future<UserResponse> result : results) {
+        assertThat(result.get()).isSameAs(sampleResponse);
+      }
+    }
+
+    then(userRepository).should(times(1)).findById(USER_ID);
+    assertThat(coalescedCalls()).isEqualTo(callers - 1);
+  }
+
+  private double coalescedCalls() {
+    return meterRegistry.get("sportivo.singleflight.calls").tag("outcome", "coalesced").counter().count();
+  }
+
+  // -------------------------------------------------------------------------
+  // lookupUsers
+  // -------------------------------------------------------------------------
+
+  @Test
+  @DisplayName("lookupUsers runs one query, keeps request order and reports missing ids")
+  void lookupUsers() {
+    UUID bobId = UUID.randomUUID();
+    UUID unknownId = UUID.randomUUID();
+    User bob = new User(bobId, "bob", "bob@example.com", "Bob", "Jones", UserRole.USER);
+    UserResponse bobResponse = new UserResponse(
+        bobId, "bob", "bob@example.com", "Bob", "Jones", UserRole.USER, null, null, null);
+    given(userRepository.findAllById(any())).willReturn(List.of(sampleUser, bob));
+    given(userMapper.toResponse(sampleUser)).willReturn(sampleResponse);
+    given(userMapper.toResponse(bob)).willReturn(bobResponse);
+
+    UserLookupResponse<UserResponse> result = userService.lookupUsers(List.of(bobId, unknownId, USER_ID, bobId));
+
+    assertThat(result.users()).containsExactly(bobResponse, sampleResponse);
+    assertThat(result.missing()).containsExactly(unknownId);
+    then(userRepository).should(times(1)).findAllById(any());
+  }
+
   // -------------------------------------------------------------------------
   // updateUser
   // -------------------------------------------------------------------------
@@ -188,6 +272,25 @@ class UserServiceTest {
     then(keycloakAdminService).should().updateUser(USER_ID, "new@example.com", "NewFirst", "NewLast");
     then(userMapper).should().updateUserFromRequest(req, sampleUser);
     then(userRepository).should().save(sampleUser);
+
+    ArgumentCaptor<UserUpdatedEvent> event = ArgumentCaptor.forClass(UserUpdatedEvent.class);
+    then(eventPublisher).should().publishEvent(event.capture());
+    assertThat(event.getValue().changedFields())
+        .containsExactlyInAnyOrder(UserField.EMAIL, UserField.FIRST_NAME, UserField.LAST_NAME);
+    assertThat(event.getValue().email()).isEqualTo("new@example.com");
+  }
+
+  @Test
+  @DisplayName("updateUser publishes no event when nothing changed")
+  void updateUser_noChange() {
+    UpdateUserRequest req = new UpdateUserRequest("Alice", null, "alice@example.com");
+    given(userRepository.findById(USER_ID)).willReturn(Optional.of(sampleUser));
+    given(userRepository.save(sampleUser)).willReturn(sampleUser);
+    given(userMapper.toResponse(sampleUser)).willReturn(sampleResponse);
+
+    userService.updateUser(USER_ID, req);
+
+    then(eventPublisher).should(never()).publishEvent(any(Object.class));
   }
 
   // -------------------------------------------------------------------------
@@ -221,13 +324,24 @@ class UserServiceTest {
   // -------------------------------------------------------------------------
 
   @Test
-  @DisplayName("deleteUser removes from DB and Keycloak")
+  @DisplayName("deleteUser soft-deletes and leaves Keycloak to the purger")
   void deleteUser() {
-    given(userRepository.findById(USER_ID)).willReturn(Optional.of(sampleUser));
+    given(userRepository.softDelete(eq(USER_ID), any())).willReturn(1);
 
     userService.deleteUser(USER_ID);
 
-    then(userRepository).should().delete(sampleUser);
-    then(keycloakAdminService).should().deleteUser(USER_ID);
+    then(keycloakAdminService).should(never()).deleteUser(any());
+    then(eventPublisher).should().publishEvent(any(UserDeletedEvent.class));
+  }
+
+  @Test
+  @DisplayName("deleteUser throws when no live user matches")
+  void deleteUser_notFound() {
+    given(userRepository.softDelete(eq(USER_ID), any())).willReturn(0);
+
+    assertThatThrownBy(() -> userService.deleteUser(USER_ID))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    then(eventPublisher).should(never()).publishEvent(any(Object.class));
   }
 }
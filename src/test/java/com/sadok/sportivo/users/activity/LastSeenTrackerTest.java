@@ -0,0 +1,100 @@
+package com.sadok.sportivo.users.activity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.sadok.sportivo.common.jdbc.DatabaseVendor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LastSeenTracker")
+class LastSeenTrackerTest {
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private SimpleMeterRegistry meterRegistry;
+  private LastSeenTracker tracker;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("db/migration/V1__create_users_table.sql")
+        .addScript("db/migration/V6__add_last_seen_at_to_users.sql")
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    meterRegistry = new SimpleMeterRegistry();
+    tracker = new LastSeenTracker(jdbcTemplate, new DatabaseVendor(database),
+        new LastSeenProperties(true, Duration.ofSeconds(5), Duration.ofSeconds(1), 2), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  @DisplayName("coalesces repeated activity into one row update per user")
+  void coalescesActivity() {
+    UUID alice = insertUser("alice");
+    UUID bob = insertUser("bob");
+    UUID carol = insertUser("carol");
+    IntStream.range(0, 1_000).parallel().forEach(i -> tracker.record(i % 2 == 0 ? alice : bob));
+    tracker.record(carol);
+
+    assertThat(tracker.flush()).isEqualTo(3);
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM users WHERE last_seen_at IS NOT NULL", Integer.class)).isEqualTo(3);
+    assertThat(tracker.flush()).isZero();
+    assertThat(meterRegistry.get("sportivo.users.last-seen.flush.size").summary().totalAmount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("never moves last_seen_at backwards")
+  void keepsNewestTimestamp() {
+    UUID alice = insertUser("alice");
+    // whole seconds, so the column's precision cannot change the value
+    LocalDateTime future = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+    jdbcTemplate.update("UPDATE users SET last_seen_at = ? WHERE id = ?", future, alice);
+
+    tracker.record(alice);
+    tracker.flush();
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT last_seen_at FROM users WHERE id = ?", LocalDateTime.class, alice)).isEqualTo(future);
+  }
+
+  @Test
+  @DisplayName("records nothing when disabled")
+  void disabled() {
+    LastSeenTracker off = new LastSeenTracker(jdbcTemplate, new DatabaseVendor(database),
+        new LastSeenProperties(false, Duration.ofSeconds(5), Duration.ofSeconds(1), 2), meterRegistry);
+
+    off.record(insertUser("alice"));
+
+    assertThat(off.flush()).isZero();
+  }
+
+  private UUID insertUser(String username) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO users (id, username, email, first_name, last_name) VALUES (?, ?, ?, ?, ?)",
+        id, username, username + "@sportivo.test", username, "Test");
+    return id;
+  }
+}
@@ -0,0 +1,75 @@
+package com.sadok.sportivo.users.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.sadok.sportivo.common.jdbc.DatabaseVendor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserAuditPartitionMaintainer")
+class UserAuditPartitionMaintainerTest {
+
+  private static final YearMonth NOW = YearMonth.of(2027, 11);
+
+  private JdbcTemplate jdbcTemplate;
+  private UserAuditPartitionMaintainer maintainer;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyString())).willReturn(true);
+    maintainer = new UserAuditPartitionMaintainer(jdbcTemplate, mock(DatabaseVendor.class),
+        TransactionOperations.withoutTransaction(),
+        new UserAuditProperties(500, Duration.ofMillis(200), 2, Duration.ofHours(12)),
+        new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("leaves existing partitions alone")
+  void existing() {
+    assertThat(maintainer.ensurePartitions(NOW)).isZero();
+
+    then(jdbcTemplate).should(never()).execute(anyString());
+  }
+
+  @Test
+  @DisplayName("creates a missing month, moves its rows out of the default partition and attaches it")
+  void missing() {
+    given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("user_audit_2028_01"))).willReturn(false);
+
+    assertThat(maintainer.ensurePartitions(NOW)).isEqualTo(1);
+
+    InOrder order = inOrder(jdbcTemplate);
+    order.verify(jdbcTemplate).execute(
+        "CREATE TABLE user_audit_2028_01 (LIKE user_audit INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+    order.verify(jdbcTemplate).update(any(String.class),
+        eq(LocalDateTime.of(2028, 1, 1, 0, 0)), eq(LocalDateTime.of(2028, 2, 1, 0, 0)));
+    order.verify(jdbcTemplate).execute(
+        "ALTER TABLE user_audit ATTACH PARTITION user_audit_2028_01 FOR VALUES FROM ('2028-01-01') TO ('2028-02-01')");
+  }
+
+  @Test
+  @DisplayName("names partitions by year and month")
+  void partitionName() {
+    assertThat(UserAuditPartitionMaintainer.partitionName(YearMonth.of(2027, 3))).isEqualTo("user_audit_2027_03");
+  }
+}
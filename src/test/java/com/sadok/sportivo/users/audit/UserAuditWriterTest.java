@@ -0,0 +1,175 @@
+package com.sadok.sportivo.users.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sadok.sportivo.users.UserRole;
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserAuditWriter")
+class UserAuditWriterTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID ACTOR_ID = UUID.randomUUID();
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private SimpleMeterRegistry meterRegistry;
+  private UserChangeNotifier changeNotifier;
+  private UserAuditWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("db/vendor/h2/V3__create_user_audit_table.sql")
+        .addScript("db/migration/V5__create_sync_state_table.sql")
+        .addScript("db/migration/V7__create_user_audit_outbox_table.sql")
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    meterRegistry = new SimpleMeterRegistry();
+    changeNotifier = new UserChangeNotifier();
+    writer = new UserAuditWriter(jdbcTemplate, transactionTemplate,
+        new UserAuditProperties(50, Duration.ofMillis(50), 3, Duration.ofHours(12)), changeNotifier, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writer.isRunning()) {
+      writer.stop();
+    }
+    database.shutdown();
+  }
+
+  @Test
+  @DisplayName("relays every committed event in commit order")
+  void relaysAllEventsInOrder() {
+    Instant now = Instant.now();
+    transactionTemplate.executeWithoutResult(status -> {
+      writer.onUserEvent(new UserCreatedEvent(USER_ID, "alice", "alice@example.com", "Alice", "Smith",
+          UserRole.USER, ACTOR_ID, now));
+      for (int i = 0; i < 120; i++) {
+        writer.onUserEvent(new UserUpdatedEvent(USER_ID, EnumSet.of(UserField.LAST_NAME, UserField.EMAIL),
+            "a" + i + "@example.com", null, "Smith" + i, ACTOR_ID, now.plusMillis(i)));
+      }
+      writer.onUserEvent(new UserDeletedEvent(USER_ID, ACTOR_ID, now.plusSeconds(1)));
+    });
+
+    writer.start();
+    writer.stop();
+
+    assertThat(jdbcTemplate.queryForList("SELECT action FROM user_audit ORDER BY id", String.class))
+        .hasSize(122)
+        .startsWith("CREATED")
+        .endsWith("DELETED");
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT changed_fields FROM user_audit WHERE action = 'UPDATED' FETCH FIRST 1 ROWS ONLY", String.class))
+        .isEqualTo("EMAIL,LAST_NAME");
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_audit_outbox", Integer.class)).isZero();
+    assertThat(jdbcTemplate.queryForObject("SELECT high_water_mark FROM sync_state WHERE name = ?", Long.class,
+        UserAuditWriter.RELAY_LOCK))
+        .isEqualTo(jdbcTemplate.queryForObject("SELECT MAX(id) FROM user_audit", Long.class));
+    assertThat(meterRegistry.get("sportivo.user.audit.entries").tag("outcome", "written").counter().count())
+        .isEqualTo(122);
+  }
+
+  @Test
+  @DisplayName("writes nothing when the user change rolls back")
+  void rolledBackChangeLeavesNoEntry() {
+    transactionTemplate.executeWithoutResult(status -> {
+      writer.onUserEvent(new UserDeletedEvent(USER_ID, ACTOR_ID, Instant.now()));
+      status.setRollbackOnly();
+    });
+
+    assertThat(writer.relayBatch()).isZero();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_audit", Integer.class)).isZero();
+  }
+
+  @Test
+  @DisplayName("takes the relay lock only when the outbox has rows")
+  void idleRelayOpensNoTransaction() {
+    AtomicInteger transactions = new AtomicInteger();
+    TransactionOperations counting = new TransactionOperations() {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        transactions.incrementAndGet();
+        return transactionTemplate.execute(action);
+      }
+    };
+    UserAuditWriter idle = new UserAuditWriter(jdbcTemplate, counting,
+        new UserAuditProperties(50, Duration.ofMillis(50), 3, Duration.ofHours(12)), changeNotifier, meterRegistry);
+
+    assertThat(idle.relayBatch()).isZero();
+    assertThat(idle.relayBatch()).isZero();
+    assertThat(transactions).hasValue(0);
+
+    idle.onUserEvent(new UserDeletedEvent(USER_ID, ACTOR_ID, Instant.now()));
+    assertThat(idle.relayBatch()).isEqualTo(1);
+    assertThat(idle.relayBatch()).isZero();
+    assertThat(transactions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("keeps entries in the outbox and retries when a relay fails")
+  void retriesFailedRelay() throws InterruptedException {
+    writer.onUserEvent(new UserDeletedEvent(USER_ID, ACTOR_ID, Instant.now()));
+    jdbcTemplate.execute("ALTER TABLE user_audit RENAME TO user_audit_offline");
+    writer.start();
+
+    awaitCount("SELECT COUNT(*) FROM user_audit_outbox", 1);
+    while (meterRegistry.get("sportivo.user.audit.entries").tag("outcome", "failed").counter().count() == 0) {
+      Thread.sleep(10);
+    }
+    jdbcTemplate.execute("ALTER TABLE user_audit_offline RENAME TO user_audit");
+
+    awaitCount("SELECT COUNT(*) FROM user_audit", 1);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_audit_outbox", Integer.class)).isZero();
+  }
+
+  @Test
+  @DisplayName("wakes change feed readers once entries are relayed")
+  void signalsChangeNotifier() throws InterruptedException {
+    writer.start();
+    long generation = changeNotifier.generation();
+
+    writer.onUserEvent(new UserDeletedEvent(USER_ID, ACTOR_ID, Instant.now()));
+    writer.onUserEventCommitted(new UserDeletedEvent(USER_ID, ACTOR_ID, Instant.now()));
+
+    assertThat(changeNotifier.awaitChange(generation, Duration.ofSeconds(5))).isTrue();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_audit", Integer.class)).isEqualTo(1);
+  }
+
+  private void awaitCount(String sql, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (jdbcTemplate.queryForObject(sql, Integer.class) != expected) {
+      assertThat(System.nanoTime()).as("waiting for %s = %d", sql, expected).isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+}
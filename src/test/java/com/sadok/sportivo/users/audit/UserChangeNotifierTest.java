@@ -0,0 +1,50 @@
+package com.sadok.sportivo.users.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UserChangeNotifier")
+class UserChangeNotifierTest {
+
+  private final UserChangeNotifier notifier = new UserChangeNotifier();
+
+  @Test
+  @DisplayName("times out when nothing changes")
+  void timesOutWithoutChange() throws InterruptedException {
+    assertThat(notifier.awaitChange(notifier.generation(), Duration.ofMillis(20))).isFalse();
+  }
+
+  @Test
+  @DisplayName("does not miss a change signalled before the wait starts")
+  void returnsImmediatelyForEarlierChange() throws InterruptedException {
+    long generation = notifier.generation();
+    notifier.signalChanged();
+
+    assertThat(notifier.awaitChange(generation, Duration.ZERO)).isTrue();
+  }
+
+  @Test
+  @DisplayName("wakes a parked virtual thread")
+  void wakesWaiter() throws Exception {
+    long generation = notifier.generation();
+    CompletableFuture<Boolean> woken = new CompletableFuture<>();
+    Thread.ofVirtual().start(() -> {
+      try {
+        woken.complete(notifier.awaitChange(generation, Duration.ofSeconds(10)));
+      } catch (InterruptedException ex) {
+        woken.completeExceptionally(ex);
+      }
+    });
+
+    Thread.sleep(50);
+    notifier.signalChanged();
+
+    assertThat(woken.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,152 @@
+package com.sadok.sportivo.users.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.UserRole;
+import com.sadok.sportivo.users.audit.UserChangeNotifier;
+import com.sadok.sportivo.users.dto.UserAvailabilityResponse;
+import com.sadok.sportivo.users.event.UserCreatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserAvailabilityService")
+class UserAvailabilityServiceTest {
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private UserRepository userRepository;
+  private UserChangeNotifier changeNotifier;
+  private SimpleMeterRegistry meterRegistry;
+  private UserAvailabilityService service;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("db/migration/V1__create_users_table.sql")
+        .addScript("db/vendor/h2/V3__create_user_audit_table.sql")
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    userRepository = mock(UserRepository.class);
+    changeNotifier = mock(UserChangeNotifier.class);
+    meterRegistry = new SimpleMeterRegistry();
+    service = new UserAvailabilityService(userRepository, jdbcTemplate, transactionTemplate,
+        new UserAvailabilityProperties(1_000, 0.01, Duration.ofMinutes(10), Duration.ofHours(1), Duration.ofSeconds(1)),
+        changeNotifier, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  @DisplayName("answers a filter miss without a query")
+  void missCostsNoQuery() {
+    insertUser("alice");
+    service.rebuild();
+
+    assertThat(service.check("bob", "bob@sportivo.test")).isEqualTo(new UserAvailabilityResponse(true, true));
+
+    then(userRepository).should(never()).isUsernameTaken(anyString());
+    then(userRepository).should(never()).isEmailTaken(anyString());
+    assertThat(checks("filtered")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("falls back to the database for a possible hit")
+  void hitFallsBackToDatabase() {
+    insertUser("alice");
+    service.rebuild();
+    given(userRepository.isUsernameTaken("Alice")).willReturn(true);
+
+    assertThat(service.check("Alice", null).usernameAvailable()).isFalse();
+
+    then(userRepository).should().isUsernameTaken("Alice");
+    assertThat(checks("taken")).isEqualTo(1);
+    assertThat(checks("filtered")).isZero();
+  }
+
+  @Test
+  @DisplayName("queries the database until the filter is built")
+  void unfilteredBeforeBuild() {
+    assertThat(service.check("alice", null).usernameAvailable()).isTrue();
+
+    then(userRepository).should().isUsernameTaken("alice");
+    assertThat(checks("unfiltered")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("adds users created on other instances once their audit rows are relayed")
+  void followsRemoteCreations() {
+    service.rebuild();
+    UUID carol = insertUser("carol");
+    jdbcTemplate.update("INSERT INTO user_audit (user_id, action, changed_at) VALUES (?, 'CREATED', ?)",
+        carol, LocalDateTime.now());
+    given(changeNotifier.generation()).willReturn(1L);
+
+    service.followChanges();
+
+    assertThat(service.check("carol", "carol@sportivo.test")).isEqualTo(new UserAvailabilityResponse(true, true));
+    then(userRepository).should().isUsernameTaken("carol");
+    then(userRepository).should().isEmailTaken("carol@sportivo.test");
+  }
+
+  @Test
+  @DisplayName("keeps values of a transaction that commits while the filter is rebuilt")
+  void keepsValuesCommittedDuringRebuild() throws InterruptedException {
+    service.rebuild();
+    transactionTemplate.executeWithoutResult(status -> {
+      UUID dave = insertUser("dave");
+      service.onUserEvent(new UserCreatedEvent(dave, "dave", "dave@sportivo.test", "Dave", "Test", UserRole.USER,
+          null, Instant.now()));
+      // the rebuild's scan cannot see dave, who commits only after the new filter is in place
+      Thread rebuild = Thread.ofVirtual().start(service::rebuild);
+      try {
+        rebuild.join();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    service.check("dave", null);
+
+    then(userRepository).should().isUsernameTaken("dave");
+  }
+
+  private UUID insertUser(String username) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO users (id, username, email, first_name, last_name) VALUES (?, ?, ?, ?, ?)",
+        id, username, username + "@sportivo.test", "First", "Last");
+    return id;
+  }
+
+  private double checks(String outcome) {
+    return meterRegistry.get("sportivo.users.availability.checks").tag("outcome", outcome).counter().count();
+  }
+}
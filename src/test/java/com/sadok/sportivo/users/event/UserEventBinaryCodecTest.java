@@ -0,0 +1,58 @@
+package com.sadok.sportivo.users.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sadok.sportivo.users.UserRole;
+
+@DisplayName("UserEventBinaryCodec")
+class UserEventBinaryCodecTest {
+
+  private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+  @Test
+  @DisplayName("round-trips every event type")
+  void roundTrip() {
+    UserEvent[] events = {
+        new UserCreatedEvent(UUID.randomUUID(), "élodie", "elodie@sportivo.test", "Élodie", "Durand",
+            UserRole.ADMIN, UUID.randomUUID(), NOW),
+        new UserUpdatedEvent(UUID.randomUUID(), EnumSet.of(UserField.EMAIL, UserField.LAST_NAME),
+            "new@sportivo.test", null, "Martin", null, NOW),
+        new UserUpdatedEvent(UUID.randomUUID(), EnumSet.noneOf(UserField.class), null, null, null, null, NOW),
+        new UserDeletedEvent(UUID.randomUUID(), UUID.randomUUID(), NOW)
+    };
+    for (UserEvent event : events) {
+      assertThat(UserEventBinaryCodec.decode(UserEventBinaryCodec.encode(event))).isEqualTo(event);
+    }
+  }
+
+  @Test
+  @DisplayName("encodes a deletion in 41 bytes")
+  void compact() {
+    byte[] bytes = UserEventBinaryCodec.encode(new UserDeletedEvent(UUID.randomUUID(), UUID.randomUUID(), NOW));
+    // version, type, user id, actor flag, actor id and a 6-byte varint of today's epoch millis
+    assertThat(bytes).hasSize(1 + 1 + 16 + 1 + 16 + 6);
+  }
+
+  @Test
+  @DisplayName("rejects unknown versions and truncated payloads")
+  void rejectsBadInput() {
+    byte[] bytes = UserEventBinaryCodec.encode(new UserDeletedEvent(UUID.randomUUID(), null, NOW));
+
+    byte[] future = bytes.clone();
+    future[0] = 99;
+    assertThatThrownBy(() -> UserEventBinaryCodec.decode(future)).isInstanceOf(IllegalArgumentException.class);
+
+    byte[] truncated = Arrays.copyOf(bytes, 10);
+    assertThatThrownBy(() -> UserEventBinaryCodec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
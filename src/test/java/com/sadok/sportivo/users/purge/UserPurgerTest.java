@@ -0,0 +1,99 @@
+package com.sadok.sportivo.users.purge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.sadok.sportivo.common.exception.KeycloakException;
+import com.sadok.sportivo.keycloak.KeycloakAdminService;
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.UserRepository.PurgeCandidate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserPurger")
+class UserPurgerTest {
+
+  private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(10);
+  private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+
+  private UserRepository userRepository;
+  private KeycloakAdminService keycloakAdminService;
+  private SimpleMeterRegistry meterRegistry;
+  private UserPurger purger;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    keycloakAdminService = mock(KeycloakAdminService.class);
+    meterRegistry = new SimpleMeterRegistry();
+    purger = new UserPurger(userRepository, keycloakAdminService,
+        new UserPurgeProperties(true, Duration.ofSeconds(5), 100, INITIAL_BACKOFF, MAX_BACKOFF), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("defers a failed purge with exponential backoff and keeps the row")
+  void defersFailure() {
+    UUID failing = UUID.randomUUID();
+    UUID purged = UUID.randomUUID();
+    List<PurgeCandidate> due = List.of(candidate(failing, 2), candidate(purged, 0));
+    given(userRepository.findDuePurges(any(), anyInt())).willReturn(due);
+    willThrow(new KeycloakException("down")).given(keycloakAdminService).deleteUser(failing);
+    given(userRepository.hardDelete(List.of(purged))).willReturn(1);
+
+    Instant before = Instant.now();
+    assertThat(purger.purgeDue()).isEqualTo(1);
+    Instant after = Instant.now();
+
+    assertThat(nextAttempt(failing)).isBetween(before.plus(INITIAL_BACKOFF.multipliedBy(4)),
+        after.plus(INITIAL_BACKOFF.multipliedBy(4)));
+    then(userRepository).should().hardDelete(List.of(purged));
+    assertThat(meterRegistry.get("sportivo.users.purge").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("sportivo.users.purge").tag("outcome", "purged").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("caps the backoff at maxBackoff")
+  void capsBackoff() {
+    UUID failing = UUID.randomUUID();
+    List<PurgeCandidate> due = List.of(candidate(failing, 30));
+    given(userRepository.findDuePurges(any(), anyInt())).willReturn(due);
+    willThrow(new KeycloakException("down")).given(keycloakAdminService).deleteUser(failing);
+
+    Instant before = Instant.now();
+    assertThat(purger.purgeDue()).isZero();
+    Instant after = Instant.now();
+
+    assertThat(nextAttempt(failing)).isBetween(before.plus(MAX_BACKOFF), after.plus(MAX_BACKOFF));
+    then(userRepository).should(never()).hardDelete(any());
+  }
+
+  private Instant nextAttempt(UUID id) {
+    ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+    then(userRepository).should().deferPurge(eq(id), captor.capture());
+    return captor.getValue();
+  }
+
+  private static PurgeCandidate candidate(UUID id, int attempts) {
+    PurgeCandidate candidate = mock(PurgeCandidate.class);
+    given(candidate.getId()).willReturn(id);
+    given(candidate.getPurgeAttempts()).willReturn(attempts);
+    return candidate;
+  }
+}
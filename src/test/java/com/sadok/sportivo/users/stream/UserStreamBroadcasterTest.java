@@ -0,0 +1,243 @@
+package com.sadok.sportivo.users.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sadok.sportivo.users.audit.UserAuditAction;
+import com.sadok.sportivo.users.audit.UserAuditEntry;
+import com.sadok.sportivo.users.audit.UserAuditMapper;
+import com.sadok.sportivo.users.audit.UserAuditRepository;
+import com.sadok.sportivo.users.audit.UserChangeNotifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("UserStreamBroadcaster")
+class UserStreamBroadcasterTest {
+
+  private static final int LIVE_BATCH = 500;
+  private static final Pattern EVENT_ID = Pattern.compile("(?m)^id:(\\d+)$");
+
+  private UserAuditRepository userAuditRepository;
+  private UserChangeNotifier changeNotifier;
+  private SimpleMeterRegistry meterRegistry;
+  private UserStreamBroadcaster broadcaster;
+  /** Entries the live reader returns once, as if the audit relay had just committed them. */
+  private final List<UserAuditEntry> pendingLive = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    userAuditRepository = mock(UserAuditRepository.class);
+    changeNotifier = mock(UserChangeNotifier.class);
+    meterRegistry = new SimpleMeterRegistry();
+    given(userAuditRepository.findLatestId()).willReturn(0L);
+    given(userAuditRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), argThat(limit(LIVE_BATCH))))
+        .willAnswer(invocation -> {
+          List<UserAuditEntry> entries = List.copyOf(pendingLive);
+          pendingLive.removeAll(entries);
+          return entries;
+        });
+    given(changeNotifier.awaitChange(anyLong(), any())).willAnswer(invocation -> {
+      Duration timeout = invocation.getArgument(1);
+      Thread.sleep(Math.min(timeout.toMillis(), 10));
+      return false;
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (broadcaster != null && broadcaster.isRunning()) {
+      broadcaster.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("disconnects a consumer whose buffer fills up")
+  void disconnectsSlowConsumer() throws InterruptedException {
+    List<UserAuditEntry> committed = entries(1, 5);
+    start(properties(2, Duration.ofHours(1), 10));
+    CountDownLatch network = new CountDownLatch(1);
+    RecordingEmitter emitter = new RecordingEmitter(network);
+    broadcaster.subscribe(emitter, null);
+
+    pendingLive.addAll(committed);
+
+    await(() -> emitter.completed);
+    network.countDown();
+    assertThat(disconnects("slow_consumer")).isEqualTo(1);
+    assertThat(meterRegistry.get("sportivo.users.stream.connections").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("replays missed changes after Last-Event-ID without repeating live ones")
+  void replaysWithoutDuplicates() throws InterruptedException {
+    List<UserAuditEntry> committed = entries(1, 3);
+    given(userAuditRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), argThat(limit(11))))
+        .willAnswer(invocation -> {
+          // the live frames for 1..3 are buffered while the replay query is still running
+          pendingLive.addAll(committed);
+          await(() -> meterRegistry.get("sportivo.users.stream.events").counter().count() == 3);
+          return committed.subList(0, 2);
+        });
+    start(properties(100, Duration.ofHours(1), 10));
+    RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+
+    broadcaster.subscribe(emitter, 0L);
+
+    await(() -> emitter.ids().size() >= 3);
+    Thread.sleep(50);
+    assertThat(emitter.ids()).containsExactly(1L, 2L, 3L);
+  }
+
+  @Test
+  @DisplayName("sends a reset event when more changes were missed than can be replayed")
+  void resetsPastReplayLimit() throws InterruptedException {
+    List<UserAuditEntry> missed = entries(1, 3);
+    given(userAuditRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), argThat(limit(3))))
+        .willReturn(missed);
+    start(properties(100, Duration.ofHours(1), 2));
+    RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+
+    broadcaster.subscribe(emitter, 0L);
+
+    await(() -> emitter.frames.stream().anyMatch(frame -> frame.contains("event:" + UserStreamBroadcaster.RESET_EVENT)));
+    assertThat(emitter.ids()).isEmpty();
+    assertThat(emitter.frames).noneMatch(frame -> frame.contains("event:" + UserStreamBroadcaster.CHANGE_EVENT));
+  }
+
+  @Test
+  @DisplayName("sends heartbeats while there are no changes")
+  void sendsHeartbeats() throws InterruptedException {
+    start(properties(100, Duration.ofMillis(30), 10));
+    RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+
+    broadcaster.subscribe(emitter, null);
+
+    await(() -> emitter.frames.stream().filter(frame -> frame.contains(":heartbeat")).count() >= 2);
+    assertThat(emitter.ids()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("completes the response when the connection times out")
+  void completesOnTimeout() throws InterruptedException {
+    start(properties(100, Duration.ofHours(1), 10));
+    RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+    broadcaster.subscribe(emitter, null);
+
+    emitter.timeoutCallback.run();
+
+    assertThat(emitter.completed).isTrue();
+    assertThat(disconnects("timeout")).isEqualTo(1);
+  }
+
+  private void start(UserStreamProperties properties) {
+    broadcaster = new UserStreamBroadcaster(userAuditRepository, mock(UserAuditMapper.class), changeNotifier,
+        properties, meterRegistry);
+    broadcaster.start();
+  }
+
+  private double disconnects(String reason) {
+    return meterRegistry.get("sportivo.users.stream.disconnects").tag("reason", reason).counter().count();
+  }
+
+  private static UserStreamProperties properties(int bufferSize, Duration heartbeat, int replayLimit) {
+    return new UserStreamProperties(bufferSize, heartbeat, Duration.ofMinutes(1), replayLimit);
+  }
+
+  private static ArgumentMatcher<Limit> limit(int max) {
+    return limit -> limit != null && limit.max() == max;
+  }
+
+  private static List<UserAuditEntry> entries(long fromId, long toId) {
+    return LongStream.rangeClosed(fromId, toId).mapToObj(UserStreamBroadcasterTest::entry).toList();
+  }
+
+  private static UserAuditEntry entry(long id) {
+    UserAuditEntry entry = mock(UserAuditEntry.class);
+    given(entry.getId()).willReturn(id);
+    given(entry.getUserId()).willReturn(UUID.randomUUID());
+    given(entry.getAction()).willReturn(UserAuditAction.UPDATED);
+    given(entry.getChangedAt()).willReturn(Instant.now());
+    return entry;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  /** Records frames as SSE text; each send blocks until {@code network} opens, like a stalled client. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final CountDownLatch network;
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+    private volatile boolean completed;
+    private volatile Runnable timeoutCallback;
+
+    RecordingEmitter(CountDownLatch network) {
+      super(60_000L);
+      this.network = network;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      try {
+        network.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      StringBuilder frame = new StringBuilder();
+      builder.build().forEach(part -> frame.append(part.getData() instanceof String text ? text : "{...}"));
+      frames.add(frame.toString());
+    }
+
+    @Override
+    public void onTimeout(Runnable callback) {
+      super.onTimeout(callback);
+      timeoutCallback = callback;
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+      super.complete();
+    }
+
+    List<Long> ids() {
+      return frames.stream()
+          .map(EVENT_ID::matcher)
+          .filter(Matcher::find)
+          .map(matcher -> Long.parseLong(matcher.group(1)))
+          .toList();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.sadok.sportivo.users.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.sadok.sportivo.users.User;
+import com.sadok.sportivo.users.UserRepository;
+import com.sadok.sportivo.users.UserRole;
+import com.sadok.sportivo.users.event.UserDeletedEvent;
+import com.sadok.sportivo.users.event.UserField;
+import com.sadok.sportivo.users.event.UserUpdatedEvent;
+import com.sadok.sportivo.users.sync.UserAdminEvent.Operation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSync")
+class UserSyncTest {
+
+  private static final long MARK = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+  @Mock
+  SyncStateRepository syncStateRepository;
+  @Mock
+  UserRepository userRepository;
+  @Mock
+  ApplicationEventPublisher eventPublisher;
+
+  private final InMemoryAdminEvents adminEvents = new InMemoryAdminEvents();
+  private SimpleMeterRegistry meterRegistry;
+  private UserSync userSync;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    userSync = new UserSync(adminEvents, syncStateRepository, userRepository, eventPublisher,
+        TransactionOperations.withoutTransaction(), new UserSyncProperties(true, Duration.ofSeconds(10), 2),
+        meterRegistry);
+  }
+
+  @Test
+  @DisplayName("first run only records the starting point")
+  void firstRunStartsAtNow() {
+    given(syncStateRepository.findHighWaterMark(UserSync.STATE_NAME)).willReturn(OptionalLong.empty());
+    adminEvents.add(new UserAdminEvent(MARK, Operation.DELETE, UUID.randomUUID(), null, null, null, null));
+
+    assertThat(userSync.sync()).isZero();
+
+    then(syncStateRepository).should().saveHighWaterMark(eq(UserSync.STATE_NAME), anyLong());
+    then(userRepository).shouldHaveNoInteractions();
+    assertThat(adminEvents.requestedSince).isEmpty();
+  }
+
+  @Test
+  @DisplayName("applies console edits and deletions in batches and advances the mark")
+  void appliesEvents() {
+    User alice = user("alice@example.com", "Alice");
+    UUID bobId = UUID.randomUUID();
+    given(syncStateRepository.findHighWaterMark(UserSync.STATE_NAME)).willReturn(OptionalLong.of(MARK));
+    given(userRepository.findAllById(List.of(alice.getId()))).willReturn(List.of(alice));
+    given(userRepository.softDelete(eq(bobId), any())).willReturn(1);
+    adminEvents.add(new UserAdminEvent(MARK + 1, Operation.UPDATE, alice.getId(),
+        "alice@new.example.com", "Alice", "Smith", null));
+    adminEvents.add(new UserAdminEvent(MARK + 2, Operation.CREATE, UUID.randomUUID(),
+        "carol@example.com", "Carol", "Jones", null));
+    adminEvents.add(new UserAdminEvent(MARK + 3, Operation.DELETE, bobId, null, null, null, null));
+
+    assertThat(userSync.sync()).isEqualTo(2);
+
+    assertThat(adminEvents.requestedSince).containsExactly(MARK);
+    assertThat(alice.getEmail()).isEqualTo("alice@new.example.com");
+    then(userRepository).should().saveAll(any());
+    ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+    then(eventPublisher).should(times(2)).publishEvent(events.capture());
+    assertThat(events.getAllValues().getFirst()).isInstanceOfSatisfying(UserUpdatedEvent.class,
+        e -> assertThat(e.changedFields()).containsExactly(UserField.EMAIL));
+    assertThat(events.getAllValues().getLast()).isInstanceOf(UserDeletedEvent.class);
+    then(syncStateRepository).should().saveHighWaterMark(UserSync.STATE_NAME, MARK + 2);
+    then(syncStateRepository).should().saveHighWaterMark(UserSync.STATE_NAME, MARK + 3);
+    assertThat(meterRegistry.get("sportivo.users.sync.events").tag("outcome", "ignored").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("re-delivered events that match local state change nothing")
+  void idempotentForUnchangedUsers() {
+    User alice = user("alice@example.com", "Alice");
+    given(syncStateRepository.findHighWaterMark(UserSync.STATE_NAME)).willReturn(OptionalLong.of(MARK));
+    given(userRepository.findAllById(List.of(alice.getId()))).willReturn(List.of(alice));
+    adminEvents.add(new UserAdminEvent(MARK, Operation.UPDATE, alice.getId(),
+        "ALICE@example.com", "Alice", "Smith", null));
+
+    assertThat(userSync.sync()).isZero();
+
+    then(userRepository).should(never()).saveAll(any());
+    then(eventPublisher).shouldHaveNoInteractions();
+  }
+
+  private static User user(String email, String firstName) {
+    return new User(UUID.randomUUID(), "alice", email, firstName, "Smith", UserRole.USER);
+  }
+
+  /** Stand-in for the Keycloak admin events API. */
+  private static final class InMemoryAdminEvents implements AdminEventSource {
+
+    private final List<UserAdminEvent> events = new ArrayList<>();
+    private final List<Long> requestedSince = new ArrayList<>();
+
+    void add(UserAdminEvent event) {
+      events.add(event);
+    }
+
+    @Override
+    public List<UserAdminEvent> fetchSince(long sinceMillis) {
+      requestedSince.add(sinceMillis);
+      return events.stream().filter(event -> event.time() >= sinceMillis).toList();
+    }
+  }
+}